@@ -185,7 +185,8 @@ public interface Conductor<Test> {
     Test validateTextNotIgnoreCase(WebElement element, String text);
 
     /**
-     * Validate that text is present somewhere on the page.
+     * Validate that text is present somewhere on the page. Only the visible text of elements is searched, i.e. the
+     * text, content-desc, label and value attributes.
      * @param text The text to ensure is on the page.
      * @return The implementing class for fluency
      */
@@ -27,6 +27,23 @@ public class ConductorConfig {
     private String[] currentSchemes;
     private int timeout = 5;
     private int retries = 5;
+    private int pollInitialMillis = 50;
+    private int pollMaxMillis = 1000;
+    private int pollBackoffMultiplier = 2;
+    private boolean optimisticActions = false;
+    private boolean cacheElements = false;
+    private boolean cachePageSource = false;
+    private boolean cacheWindowSize = false;
+    private boolean localLocators = false;
+    private IosLocatorStrategy iosLocatorStrategy = IosLocatorStrategy.XPATH;
+    private boolean profileLocators = false;
+    private SwipeProfile swipeProfile = SwipeProfile.FIXED;
+    private int flingVelocity = 4000;
+    private int scrollVelocity = 1500;
+    private int dragVelocity = 400;
+    private int swipeSettleTimeoutMillis = 1000;
+    private boolean nativeScroll = false;
+    private boolean snapshotSwipeTo = false;
     private boolean screenshotOnFail = true;
     private boolean screenshotOnSkip = false;
 
@@ -70,6 +87,24 @@ public class ConductorConfig {
     private String newCommandTimeout;
     private String idleTimeout;
     private int    startSessionRetries = 1; // by default try only once
+    private int    startSessionBackoffMillis = 1000;
+    private int    startSessionMaxBackoffMillis = 30000;
+    private int    startSessionBackoffMultiplier = 2;
+    private int    startSessionJitterPercent = 20;
+    private int    startSessionTimeBudgetSeconds = 0; // no limit
+    private int    circuitBreakerThreshold = 0;
+    private int    circuitBreakerCoolDownSeconds = 60;
+
+    // Session management
+    private boolean reuseSession = false;
+    private boolean prewarmSession = false;
+    private int prewarmClaimTimeoutSeconds = 300;
+
+    // Local Appium server
+    private boolean appiumServerPerDevice = false;
+    private String appiumLogLevel = "debug";
+    private String appiumLogFile;
+    private int appiumLogFileCount = 5;
 
     // dependencies
     private Map<String, String> environment;
@@ -223,6 +258,12 @@ public class ConductorConfig {
                 } else if (foundMethod.getParameterTypes()[0] == Platform.class) {
                     Platform value = Platform.valueOf(propertyValue);
                     foundMethod.invoke(this, value);
+                } else if (foundMethod.getParameterTypes()[0] == IosLocatorStrategy.class) {
+                    IosLocatorStrategy value = IosLocatorStrategy.valueOf(propertyValue);
+                    foundMethod.invoke(this, value);
+                } else if (foundMethod.getParameterTypes()[0] == SwipeProfile.class) {
+                    SwipeProfile value = SwipeProfile.valueOf(propertyValue);
+                    foundMethod.invoke(this, value);
                 }
             } catch (IllegalAccessException | InvocationTargetException e) {
                 Logger.warn(e, "Could not invoke method: $s", methodName);
@@ -262,6 +303,158 @@ public class ConductorConfig {
         this.retries = retries;
     }
 
+    public int getPollInitialMillis() {
+        return pollInitialMillis;
+    }
+
+    public void setPollInitialMillis(int pollInitialMillis) {
+        this.pollInitialMillis = pollInitialMillis;
+    }
+
+    public int getPollMaxMillis() {
+        return pollMaxMillis;
+    }
+
+    public void setPollMaxMillis(int pollMaxMillis) {
+        this.pollMaxMillis = pollMaxMillis;
+    }
+
+    public int getPollBackoffMultiplier() {
+        return pollBackoffMultiplier;
+    }
+
+    public void setPollBackoffMultiplier(int pollBackoffMultiplier) {
+        this.pollBackoffMultiplier = pollBackoffMultiplier;
+    }
+
+    public boolean isOptimisticActions() {
+        return optimisticActions;
+    }
+
+    public void setOptimisticActions(boolean optimisticActions) {
+        this.optimisticActions = optimisticActions;
+    }
+
+    public boolean isCacheElements() {
+        return cacheElements;
+    }
+
+    public void setCacheElements(boolean cacheElements) {
+        this.cacheElements = cacheElements;
+    }
+
+    public boolean isCachePageSource() {
+        return cachePageSource;
+    }
+
+    public void setCachePageSource(boolean cachePageSource) {
+        this.cachePageSource = cachePageSource;
+    }
+
+    public boolean isCacheWindowSize() {
+        return cacheWindowSize;
+    }
+
+    public void setCacheWindowSize(boolean cacheWindowSize) {
+        this.cacheWindowSize = cacheWindowSize;
+    }
+
+    public boolean isLocalLocators() {
+        return localLocators;
+    }
+
+    public void setLocalLocators(boolean localLocators) {
+        this.localLocators = localLocators;
+    }
+
+    public IosLocatorStrategy getIosLocatorStrategy() {
+        return iosLocatorStrategy;
+    }
+
+    public void setIosLocatorStrategy(IosLocatorStrategy iosLocatorStrategy) {
+        this.iosLocatorStrategy = iosLocatorStrategy;
+    }
+
+    public boolean isProfileLocators() {
+        return profileLocators;
+    }
+
+    public void setProfileLocators(boolean profileLocators) {
+        this.profileLocators = profileLocators;
+    }
+
+    public SwipeProfile getSwipeProfile() {
+        return swipeProfile;
+    }
+
+    public void setSwipeProfile(SwipeProfile swipeProfile) {
+        this.swipeProfile = swipeProfile;
+    }
+
+    public int getFlingVelocity() {
+        return flingVelocity;
+    }
+
+    public void setFlingVelocity(int flingVelocity) {
+        this.flingVelocity = flingVelocity;
+    }
+
+    public int getScrollVelocity() {
+        return scrollVelocity;
+    }
+
+    public void setScrollVelocity(int scrollVelocity) {
+        this.scrollVelocity = scrollVelocity;
+    }
+
+    public int getDragVelocity() {
+        return dragVelocity;
+    }
+
+    public void setDragVelocity(int dragVelocity) {
+        this.dragVelocity = dragVelocity;
+    }
+
+    /**
+     * @return The velocity of the given profile in pixels per second, or 0 for {@link SwipeProfile#FIXED}
+     */
+    public int getSwipeVelocity(SwipeProfile profile) {
+        switch (profile) {
+            case FLING:
+                return flingVelocity;
+            case SCROLL:
+                return scrollVelocity;
+            case DRAG:
+                return dragVelocity;
+            default:
+                return 0;
+        }
+    }
+
+    public int getSwipeSettleTimeoutMillis() {
+        return swipeSettleTimeoutMillis;
+    }
+
+    public void setSwipeSettleTimeoutMillis(int swipeSettleTimeoutMillis) {
+        this.swipeSettleTimeoutMillis = swipeSettleTimeoutMillis;
+    }
+
+    public boolean isNativeScroll() {
+        return nativeScroll;
+    }
+
+    public void setNativeScroll(boolean nativeScroll) {
+        this.nativeScroll = nativeScroll;
+    }
+
+    public boolean isSnapshotSwipeTo() {
+        return snapshotSwipeTo;
+    }
+
+    public void setSnapshotSwipeTo(boolean snapshotSwipeTo) {
+        this.snapshotSwipeTo = snapshotSwipeTo;
+    }
+
     public boolean isFullReset() {
         return fullReset;
     }
@@ -565,4 +758,116 @@ public class ConductorConfig {
     public void setStartSessionRetries(int startSessionRetries) {
         this.startSessionRetries = startSessionRetries;
     }
+
+    public int getStartSessionBackoffMillis() {
+        return startSessionBackoffMillis;
+    }
+
+    public void setStartSessionBackoffMillis(int startSessionBackoffMillis) {
+        this.startSessionBackoffMillis = startSessionBackoffMillis;
+    }
+
+    public int getStartSessionMaxBackoffMillis() {
+        return startSessionMaxBackoffMillis;
+    }
+
+    public void setStartSessionMaxBackoffMillis(int startSessionMaxBackoffMillis) {
+        this.startSessionMaxBackoffMillis = startSessionMaxBackoffMillis;
+    }
+
+    public int getStartSessionBackoffMultiplier() {
+        return startSessionBackoffMultiplier;
+    }
+
+    public void setStartSessionBackoffMultiplier(int startSessionBackoffMultiplier) {
+        this.startSessionBackoffMultiplier = startSessionBackoffMultiplier;
+    }
+
+    public int getStartSessionJitterPercent() {
+        return startSessionJitterPercent;
+    }
+
+    public void setStartSessionJitterPercent(int startSessionJitterPercent) {
+        this.startSessionJitterPercent = startSessionJitterPercent;
+    }
+
+    public int getStartSessionTimeBudgetSeconds() {
+        return startSessionTimeBudgetSeconds;
+    }
+
+    public void setStartSessionTimeBudgetSeconds(int startSessionTimeBudgetSeconds) {
+        this.startSessionTimeBudgetSeconds = startSessionTimeBudgetSeconds;
+    }
+
+    public int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    public void setCircuitBreakerThreshold(int circuitBreakerThreshold) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    public int getCircuitBreakerCoolDownSeconds() {
+        return circuitBreakerCoolDownSeconds;
+    }
+
+    public void setCircuitBreakerCoolDownSeconds(int circuitBreakerCoolDownSeconds) {
+        this.circuitBreakerCoolDownSeconds = circuitBreakerCoolDownSeconds;
+    }
+
+    public boolean isReuseSession() {
+        return reuseSession;
+    }
+
+    public void setReuseSession(boolean reuseSession) {
+        this.reuseSession = reuseSession;
+    }
+
+    public boolean isPrewarmSession() {
+        return prewarmSession;
+    }
+
+    public void setPrewarmSession(boolean prewarmSession) {
+        this.prewarmSession = prewarmSession;
+    }
+
+    public int getPrewarmClaimTimeoutSeconds() {
+        return prewarmClaimTimeoutSeconds;
+    }
+
+    public void setPrewarmClaimTimeoutSeconds(int prewarmClaimTimeoutSeconds) {
+        this.prewarmClaimTimeoutSeconds = prewarmClaimTimeoutSeconds;
+    }
+
+    public boolean isAppiumServerPerDevice() {
+        return appiumServerPerDevice;
+    }
+
+    public void setAppiumServerPerDevice(boolean appiumServerPerDevice) {
+        this.appiumServerPerDevice = appiumServerPerDevice;
+    }
+
+    public String getAppiumLogLevel() {
+        return appiumLogLevel;
+    }
+
+    public void setAppiumLogLevel(String appiumLogLevel) {
+        this.appiumLogLevel = appiumLogLevel;
+    }
+
+    public String getAppiumLogFile() {
+        return appiumLogFile;
+    }
+
+    public void setAppiumLogFile(String appiumLogFile) {
+        this.appiumLogFile = appiumLogFile;
+    }
+
+    public int getAppiumLogFileCount() {
+        return appiumLogFileCount;
+    }
+
+    public void setAppiumLogFileCount(int appiumLogFileCount) {
+        this.appiumLogFileCount = appiumLogFileCount;
+    }
 }
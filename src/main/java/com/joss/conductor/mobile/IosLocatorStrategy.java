@@ -0,0 +1,24 @@
+package com.joss.conductor.mobile;
+
+/**
+ * How {@link com.joss.conductor.mobile.util.PageUtil#buildBy(ConductorConfig, String)} turns an id into a locator
+ * on iOS. Every strategy matches the name (accessibility identifier) of the element.
+ */
+public enum IosLocatorStrategy {
+    /**
+     * {@code //*[@name='id']}, the slowest strategy since XCUITest serializes the whole tree for every lookup
+     */
+    XPATH,
+    /**
+     * The accessibility id, answered natively by XCUITest
+     */
+    ACCESSIBILITY_ID,
+    /**
+     * {@code name == 'id'} as an iOS predicate string
+     */
+    PREDICATE,
+    /**
+     * {@code **}{@code /*[`name == "id"`]} as an iOS class chain
+     */
+    CLASS_CHAIN
+}
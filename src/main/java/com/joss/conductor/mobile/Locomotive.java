@@ -1,23 +1,36 @@
 package com.joss.conductor.mobile;
 
 import com.google.common.base.Strings;
+import com.joss.conductor.mobile.cache.ElementCache;
+import com.joss.conductor.mobile.cache.GeometryCache;
+import com.joss.conductor.mobile.cache.PageSourceCache;
+import com.joss.conductor.mobile.gesture.Gesture;
+import com.joss.conductor.mobile.gesture.NativeScroll;
+import com.joss.conductor.mobile.locator.CompositeBy;
+import com.joss.conductor.mobile.profile.LocatorProfiler;
+import com.joss.conductor.mobile.session.LocalAppiumServer;
+import com.joss.conductor.mobile.session.SessionPool;
+import com.joss.conductor.mobile.session.SessionStartStats;
+import com.joss.conductor.mobile.session.SessionStarter;
+import com.joss.conductor.mobile.snapshot.HierarchySnapshot;
+import com.joss.conductor.mobile.snapshot.PageSourceTextSearch;
+import com.joss.conductor.mobile.snapshot.SnapshotNode;
+import com.joss.conductor.mobile.util.DeadlineWait;
+import com.joss.conductor.mobile.util.ExponentialPollingStrategy;
 import com.joss.conductor.mobile.util.PageUtil;
+import com.joss.conductor.mobile.util.PollingStrategy;
 import com.saucelabs.common.SauceOnDemandAuthentication;
 import com.saucelabs.common.SauceOnDemandSessionIdProvider;
 import com.saucelabs.testng.SauceOnDemandAuthenticationProvider;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.CommandExecutionHelper;
 import io.appium.java_client.MobileCommand;
-import io.appium.java_client.TouchAction;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.ios.PerformsTouchID;
 import io.appium.java_client.remote.AndroidMobileCapabilityType;
 import io.appium.java_client.remote.MobileCapabilityType;
-import io.appium.java_client.service.local.AppiumServiceBuilder;
-import io.appium.java_client.service.local.flags.GeneralServerFlag;
 import org.apache.commons.lang3.StringUtils;
-import org.assertj.core.api.Assertions;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -27,6 +40,9 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.DesiredCapabilities;
@@ -42,15 +58,19 @@ import org.testng.annotations.Listeners;
 
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static io.appium.java_client.touch.WaitOptions.waitOptions;
-import static io.appium.java_client.touch.offset.PointOption.point;
 import static java.time.Duration.ofMillis;
 
 /**
@@ -66,6 +86,14 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     private ThreadLocal<AppiumDriver> driver = new ThreadLocal<>();
     private ThreadLocal<String> sessionId = new ThreadLocal<>();
+    private ThreadLocal<DesiredCapabilities> sessionCapabilities = new ThreadLocal<>();
+    private ThreadLocal<SessionStartStats> sessionStartStats = new ThreadLocal<>();
+    private ThreadLocal<ElementCache> elementCache = new ThreadLocal<>();
+    private ThreadLocal<PageSourceCache> pageSourceCache = new ThreadLocal<>();
+    private ThreadLocal<HierarchySnapshot> snapshot = new ThreadLocal<>();
+    private ThreadLocal<GeometryCache> geometryCache = new ThreadLocal<>();
+    private SessionPool sessionPool;
+    private PollingStrategy pollingStrategy;
 
     public ConductorConfig configuration;
     private Map<String, String> vars = new HashMap<>();
@@ -90,14 +118,150 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     public Locomotive setAppiumDriver(AppiumDriver d) {
         driver.set(d);
+        elementCache.remove();
+        pageSourceCache.remove();
+        snapshot.remove();
+        geometryCache.remove();
         return this;
     }
 
+    /**
+     * @return The elements cached for the current session, or null if {@link ConductorConfig#isCacheElements()}
+     * is off
+     */
+    public ElementCache getElementCache() {
+        if (configuration == null || !configuration.isCacheElements()) {
+            return null;
+        }
+        ElementCache cache = elementCache.get();
+        if (cache == null) {
+            cache = new ElementCache();
+            elementCache.set(cache);
+        }
+        return cache;
+    }
+
+    /**
+     * @return The page source of the current screen. With {@link ConductorConfig#isCachePageSource()} on, the
+     * page source is only fetched again after an action that may have changed the screen
+     */
+    public String getPageSource() {
+        if (configuration == null || !configuration.isCachePageSource()) {
+            return getAppiumDriver().getPageSource();
+        }
+        PageSourceCache cache = pageSourceCache.get();
+        if (cache == null) {
+            cache = new PageSourceCache();
+            pageSourceCache.set(cache);
+        }
+        return cache.get(getAppiumDriver()::getPageSource);
+    }
+
+    /**
+     * @return The current page source parsed for local locator queries, or null if it could not be parsed. The
+     * parsed tree is reused for as long as {@link #getPageSource()} returns the same snapshot
+     */
+    public HierarchySnapshot getSnapshot() {
+        String source = getPageSource();
+        if (source == null) {
+            return null;
+        }
+        HierarchySnapshot current = snapshot.get();
+        if (current == null || current.getSource() != source) {
+            current = HierarchySnapshot.parse(source, configuration.getPlatformName());
+            snapshot.set(current);
+        }
+        return current;
+    }
+
+    /**
+     * Forget everything cached about the screen. Called by every action that may change it; call it yourself
+     * after acting on the screen through {@link #getAppiumDriver()} directly.
+     *
+     * @return The implementing class for fluency
+     */
+    public Locomotive uiChanged() {
+        ElementCache cache = elementCache.get();
+        if (cache != null) {
+            cache.clear();
+        }
+        pageSourceChanged();
+        return this;
+    }
+
+    private void pageSourceChanged() {
+        PageSourceCache cache = pageSourceCache.get();
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * @return The window size of the current session. With {@link ConductorConfig#isCacheWindowSize()} on it is
+     * only fetched again after {@link #rotate(ScreenOrientation)}
+     */
+    public Dimension getWindowSize() {
+        if (!configuration.isCacheWindowSize()) {
+            return getAppiumDriver().manage().window().getSize();
+        }
+        return getGeometryCache().getWindowSize(() -> getAppiumDriver().manage().window().getSize());
+    }
+
+    /**
+     * Rotate the device. With {@link ConductorConfig#isCacheWindowSize()} on, rotate through this method rather
+     * than the driver so the cached window size is dropped.
+     *
+     * @return The implementing class for fluency
+     */
+    public Locomotive rotate(ScreenOrientation orientation) {
+        getAppiumDriver().rotate(orientation);
+        getGeometryCache().orientationChanged();
+        uiChanged();
+        return this;
+    }
+
+    private GeometryCache getGeometryCache() {
+        GeometryCache cache = geometryCache.get();
+        if (cache == null) {
+            cache = new GeometryCache();
+            geometryCache.set(cache);
+        }
+        return cache;
+    }
+
     public Locomotive setConfiguration(ConductorConfig configuration) {
         this.configuration = configuration;
         return this;
     }
 
+    /**
+     * Replace the polling strategy built from the configuration, used by {@link #waitForElement(By)} and
+     * {@link #isPresentWait(By)}.
+     */
+    public Locomotive setPollingStrategy(PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
+        return this;
+    }
+
+    private PollingStrategy getPollingStrategy() {
+        if (pollingStrategy == null) {
+            pollingStrategy = ExponentialPollingStrategy.from(configuration);
+        }
+        return pollingStrategy;
+    }
+
+    public Locomotive setSessionPool(SessionPool sessionPool) {
+        this.sessionPool = sessionPool;
+        return this;
+    }
+
+    private SessionPool getSessionPool() {
+        if (sessionPool == null) {
+            sessionPool = SessionPool.getInstance();
+        }
+        return sessionPool;
+    }
+
     @Before
     public void init() {
         // For jUnit get the method name from a test rule.
@@ -115,8 +279,28 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     @AfterMethod(alwaysRun = true)
     public void quit() {
         try {
-            getAppiumDriver().quit();
+            if (configuration != null && configuration.isReuseSession() && sessionCapabilities.get() != null) {
+                // keep the session warm for the next test with the same capabilities
+                getSessionPool().release(sessionCapabilities.get(), getAppiumDriver());
+            } else {
+                getAppiumDriver().quit();
+            }
+            if (elementCache.get() != null) {
+                Logger.info("Element cache: {}", elementCache.get());
+            }
+            if (pageSourceCache.get() != null) {
+                Logger.info("Page source cache: {}", pageSourceCache.get());
+            }
+            if (geometryCache.get() != null) {
+                Logger.debug("Geometry cache: {}", geometryCache.get());
+            }
             driver.remove();
+            elementCache.remove();
+            pageSourceCache.remove();
+            snapshot.remove();
+            geometryCache.remove();
+            sessionCapabilities.remove();
+            sessionStartStats.remove();
         } catch (org.openqa.selenium.WebDriverException exception) {
             Logger.warn("WebDriverException occurred during quit method", exception);
         }
@@ -127,7 +311,11 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
             this.configuration = new ConductorConfig();
         }
 
-        startAppiumSession(1);
+        startAppiumSession();
+
+        if (configuration.isPrewarmSession() && !configuration.isReuseSession()) {
+            prewarmNextSession();
+        }
 
         // Set session ID after driver has been initialized
         SessionId id = getAppiumDriver().getSessionId();
@@ -138,46 +326,54 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
                 MobileCommand.postC("/session/:sessionId/appium/device/finger_print"));
     }
 
-    void startAppiumSession(int startCounter) {
+    void startAppiumSession() {
         if (getAppiumDriver() != null && getAppiumDriver().getSessionId() != null) {
-            // session is already active -> terminal condition
+            // session is already active
             return;
         }
 
-        if (startCounter > configuration.getStartSessionRetries()) {
-            // maximum amount of retries reached
-            throw new WebDriverException(
-                    "Could not start Appium Session");
+        DesiredCapabilities capabilities = onCapabilitiesCreated(getCapabilities(configuration));
+        sessionCapabilities.set(capabilities);
+
+        if (configuration.isReuseSession() || configuration.isPrewarmSession()) {
+            AppiumDriver pooled = getSessionPool().acquire(capabilities, configuration.getAppPackageName(),
+                    configuration.getPrewarmClaimTimeoutSeconds() * 1000L);
+            if (pooled != null) {
+                setAppiumDriver(pooled);
+                return;
+            }
         }
 
-        // start a new session
+        SessionStarter starter = new SessionStarter(configuration);
         try {
-            URL                 hub          = configuration.getHub();
-            DesiredCapabilities capabilities = onCapabilitiesCreated(getCapabilities(configuration));
+            setAppiumDriver(starter.start(() -> createDriver(capabilities)));
+        } finally {
+            sessionStartStats.set(starter.getStats());
+        }
+    }
 
-            AppiumServiceBuilder builder = new AppiumServiceBuilder()
-                    .withArgument(GeneralServerFlag.LOG_LEVEL, "debug");
+    private AppiumDriver createDriver(DesiredCapabilities capabilities) {
+        URL hub = configuration.isLocal()
+                ? LocalAppiumServer.getInstance().getUrl(configuration)
+                : configuration.getHub();
 
-            switch (configuration.getPlatformName()) {
-                case ANDROID:
-                    setAppiumDriver(configuration.isLocal()
-                            ? new AndroidDriver(builder, capabilities)
-                            : new AndroidDriver(hub, capabilities));
-                    break;
-                case IOS:
-                    setAppiumDriver(configuration.isLocal()
-                            ? new IOSDriver(builder, capabilities)
-                            : new IOSDriver(hub, capabilities));
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown platform: " + configuration.getPlatformName());
-            }
-        } catch (WebDriverException exception) {
-            Logger.warn("Received an exception while trying to start Appium session", exception);
+        switch (configuration.getPlatformName()) {
+            case ANDROID:
+                return new AndroidDriver(hub, capabilities);
+            case IOS:
+                return new IOSDriver(hub, capabilities);
+            default:
+                throw new IllegalArgumentException("Unknown platform: " + configuration.getPlatformName());
         }
+    }
 
-        // recursive call to retry if necessary
-        startAppiumSession(startCounter + 1);
+    /**
+     * Start the session for the next test in the background while this test runs. Only useful when sessions are
+     * not reused, since a reused session is already warm.
+     */
+    private void prewarmNextSession() {
+        final DesiredCapabilities capabilities = sessionCapabilities.get();
+        getSessionPool().prewarm(capabilities, () -> createDriver(capabilities));
     }
 
     protected DesiredCapabilities onCapabilitiesCreated(DesiredCapabilities desiredCapabilities) {
@@ -248,57 +444,149 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         return waitForElement(PageUtil.buildBy(configuration, id));
     }
 
+    /**
+     * Wait for an element to be displayed. The first lookup returns its first match straight away when it is
+     * visible, so the common case costs one findElements and one isDisplayed call; polling only starts on a miss.
+     */
     public WebElement waitForElement(By by) {
-
-        try {
-            waitForCondition(ExpectedConditions.not(ExpectedConditions.invisibilityOfElementLocated(by)));
-        } catch (Exception e) {
-            Logger.info("WaitForElement: Eat exception thrown waiting for condition");
+        ElementCache cache = getElementCache();
+        if (cache != null) {
+            WebElement cached = cache.get(by);
+            if (cached != null) {
+                try {
+                    if (cached.isDisplayed()) {
+                        cache.recordHit();
+                        return cached;
+                    }
+                } catch (StaleElementReferenceException e) {
+                    cache.evictStale(by);
+                }
+            }
+            // a hidden element is still attached, it is only replaced if the wait finds it again
+            cache.recordMiss();
         }
 
-        int size = getAppiumDriver().findElements(by).size();
+        ElementLookup lookup = pollForElement(by);
+        int size = lookup.elements.size();
 
         if (size == 0) {
-            int attempts = 1;
-            while (attempts <= configuration.getRetries()) {
-                try {
-                    Thread.sleep(1000); // sleep for 1 second.
-                } catch (Exception x) {
-                    Assert.fail("Failed due to an exception during Thread.sleep!");
-                    Logger.error(x);
-                }
-
-                size = getAppiumDriver().findElements(by).size();
-                if (size > 0) {
-                    break;
-                }
-                attempts++;
-            }
-            if (size == 0) {
-                Assert.fail(String.format("Could not find %s after %d attempts",
-                        by.toString(),
-                        configuration.getRetries()));
-            }
+            Assert.fail(String.format("Could not find %s after %d attempts",
+                    by.toString(),
+                    lookup.attempts));
         }
 
         if (size > 1) {
             Logger.error("WARN: There are more than 1 " + by.toString() + " 's!");
         }
 
-        return getAppiumDriver().findElement(by);
+        if (cache != null) {
+            cache.put(by, lookup.elements.get(0));
+        }
+        return lookup.elements.get(0);
+    }
+
+    /**
+     * Look up an element until it is displayed, sleeping between lookups as told by the polling strategy. Once the
+     * timeout has passed an element that is present but not displayed is accepted. A missing element is retried at
+     * least {@code retries} times after the first lookup, so {@code retries + 1} lookups, before giving up.
+     *
+     * @param by The element to look up
+     * @return The result of the last lookup
+     */
+    private ElementLookup pollForElement(By by) {
+        long started = System.currentTimeMillis();
+        ElementLookup lookup = new ElementLookup();
+        lookup.attempts = new DeadlineWait(configuration.getTimeout() * 1000L,
+                configuration.getRetries() + 1,
+                getPollingStrategy()).until(() -> {
+            lookup.elements = getAppiumDriver().findElements(by);
+            if (lookup.elements.isEmpty()) {
+                return DeadlineWait.Outcome.MISSING;
+            }
+            lookup.displayed = isDisplayed(lookup.elements.get(0));
+            return lookup.displayed ? DeadlineWait.Outcome.DONE : DeadlineWait.Outcome.PARTIAL;
+        });
+        if (lookup.elements.isEmpty() && by instanceof CompositeBy) {
+            ((CompositeBy) by).recordMiss();
+        }
+        if (lookup.attempts > 1) {
+            // the screen changed by itself while waiting, e.g. content loaded from the network
+            pageSourceChanged();
+        }
+        profile(by, started, lookup.attempts, !lookup.elements.isEmpty());
+        return lookup;
+    }
+
+    private void profile(By by, long started, int attempts, boolean found) {
+        if (!configuration.isProfileLocators()) {
+            return;
+        }
+        LocatorProfiler profiler = LocatorProfiler.getInstance();
+        profiler.record(by, System.currentTimeMillis() - started, attempts, found);
+        if (found && profiler.needsSuggestion(by)) {
+            profiler.suggest(by, getSnapshot());
+        }
+    }
+
+    private static boolean isDisplayed(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Run an action on an element. An optimistic action looks the element up once and acts on it right away, which
+     * saves the whole wait when the element is already on screen. If it is missing or goes stale the action falls
+     * back to {@link #waitForElement(By)}. A cached element that went stale is looked up again once.
+     */
+    private <T> T perform(By by, boolean optimistic, Function<WebElement, T> action) {
+        if (optimistic) {
+            try {
+                return action.apply(getAppiumDriver().findElement(by));
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                Logger.debug("Optimistic action on {} failed, waiting for the element", by);
+            }
+        }
+
+        WebElement element = waitForElement(by);
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            ElementCache cache = getElementCache();
+            if (cache == null) {
+                throw e;
+            }
+            cache.evictStale(by);
+            return action.apply(waitForElement(by));
+        }
     }
 
+    private static class ElementLookup {
+        List<WebElement> elements = Collections.emptyList();
+        boolean displayed;
+        int attempts;
+    }
 
     public Locomotive click(String id) {
         return click(PageUtil.buildBy(configuration, id));
     }
 
     public Locomotive click(By by) {
-        return click(waitForElement(by));
+        return click(by, configuration.isOptimisticActions());
+    }
+
+    /**
+     * @param optimistic Click the element straight away and only wait for it if it cannot be found
+     */
+    public Locomotive click(By by, boolean optimistic) {
+        return perform(by, optimistic, this::click);
     }
 
     public Locomotive click(WebElement element) {
         element.click();
+        uiChanged();
         return this;
     }
 
@@ -307,12 +595,21 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive setText(By by, String text) {
-        return setText(waitForElement(by), text);
+        return setText(by, text, configuration.isOptimisticActions());
+    }
+
+    /**
+     * @param optimistic Set the text of the element straight away and only wait for it if it cannot be found
+     */
+    public Locomotive setText(By by, String text, boolean optimistic) {
+        return perform(by, optimistic, element -> setText(element, text));
     }
 
     public Locomotive setText(WebElement element, String text) {
         element.clear();
         element.sendKeys(text);
+        // typing changes the page source but leaves the elements attached
+        pageSourceChanged();
         return this;
     }
 
@@ -321,7 +618,61 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public boolean isPresent(By by) {
-        return getAppiumDriver().findElements(by).size() > 0;
+        if (configuration.isLocalLocators()) {
+            HierarchySnapshot current = getSnapshot();
+            OptionalInt count = current == null ? OptionalInt.empty() : current.count(by);
+            if (count.isPresent()) {
+                return count.getAsInt() > 0;
+            }
+        }
+        long started = System.currentTimeMillis();
+        boolean present = getAppiumDriver().findElements(by).size() > 0;
+        profile(by, started, 1, present);
+        return present;
+    }
+
+    /**
+     * Check many locators against a single snapshot of the screen. Locators the snapshot cannot answer are looked
+     * up on the server.
+     *
+     * @param bys The locators to check
+     * @return The locators that match at least one element, in the given order
+     */
+    public List<By> presentOf(List<By> bys) {
+        HierarchySnapshot current = getSnapshot();
+        List<By> present = new ArrayList<>();
+        for (By by : bys) {
+            OptionalInt count = current == null ? OptionalInt.empty() : current.count(by);
+            boolean found = count.isPresent()
+                    ? count.getAsInt() > 0
+                    : !getAppiumDriver().findElements(by).isEmpty();
+            if (found) {
+                present.add(by);
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Read the text of many elements from a single snapshot of the screen, without waiting for them. Locators the
+     * snapshot cannot answer are looked up on the server.
+     *
+     * @param bys The locators of the elements
+     * @return The text of the first element matching each locator, or null where nothing matches
+     */
+    public List<String> getTexts(List<By> bys) {
+        HierarchySnapshot current = getSnapshot();
+        List<String> texts = new ArrayList<>(bys.size());
+        for (By by : bys) {
+            Optional<List<SnapshotNode>> nodes = current == null ? Optional.empty() : current.find(by);
+            if (nodes.isPresent()) {
+                texts.add(nodes.get().isEmpty() ? null : nodes.get().get(0).getText());
+            } else {
+                List<WebElement> elements = getAppiumDriver().findElements(by);
+                texts.add(elements.isEmpty() ? null : elements.get(0).getText());
+            }
+        }
+        return texts;
     }
 
     public boolean isPresentWait(String id) {
@@ -335,10 +686,9 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         //Array of stacktrace elements to output
         StackTraceElement[] stackTraceElements = Thread.currentThread().getStackTrace();
 
-        try {
-            waitForCondition(ExpectedConditions.not(ExpectedConditions.invisibilityOfElementLocated(by)));
+        ElementLookup lookup = pollForElement(by);
 
-        } catch (Exception e) {
+        if (!lookup.displayed) {
             Logger.error(newLine + newLine + "----     WARNING: METHOD DID NOT FIND ELEMENT  ----" + newLine);
 
             if (stackTraceElements != null) {
@@ -360,27 +710,11 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
             }
 
 
-            Logger.error(newLine + newLine + "----     WARNING: ELEMENT NOT PRESENT  ---- " + newLine + e.toString() + newLine + newLine);
+            Logger.error(newLine + newLine + "----     WARNING: ELEMENT NOT PRESENT  ---- " + newLine
+                    + by.toString() + " not displayed after " + lookup.attempts + " attempts" + newLine + newLine);
         }
 
-        int size = getAppiumDriver().findElements(by).size();
-
-        if (size == 0) {
-            int attempts = 1;
-            while (attempts <= configuration.getRetries()) {
-                try {
-                    Thread.sleep(1000); // sleep for 1 second.
-                } catch (Exception x) {
-                    Assertions.fail(x.getMessage(), x);
-                }
-
-                size = getAppiumDriver().findElements(by).size();
-                if (size > 0) {
-                    break;
-                }
-                attempts++;
-            }
-        }
+        int size = lookup.elements.size();
 
         if (size > 1) {
             Logger.error("WARN: There are more than 1 " + by.toString() + " 's!");
@@ -394,7 +728,14 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public String getText(By by) {
-        return getText(waitForElement(by));
+        return getText(by, configuration.isOptimisticActions());
+    }
+
+    /**
+     * @param optimistic Read the text of the element straight away and only wait for it if it cannot be found
+     */
+    public String getText(By by, boolean optimistic) {
+        return perform(by, optimistic, this::getText);
     }
 
     public String getText(WebElement element) {
@@ -470,9 +811,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public void swipeDown(int times) {
-        for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.UP);
-        }
+        performCenterSwipes(SwipeElementDirection.UP, times);
     }
 
     public void swipeUp() {
@@ -480,9 +819,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public void swipeUp(int times) {
-        for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.DOWN);
-        }
+        performCenterSwipes(SwipeElementDirection.DOWN, times);
     }
 
     public void swipeRight() {
@@ -490,9 +827,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public void swipeRight(int times) {
-        for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.LEFT);
-        }
+        performCenterSwipes(SwipeElementDirection.LEFT, times);
     }
 
     public void swipeLeft() {
@@ -500,14 +835,13 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public void swipeLeft(int times) {
-        for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.RIGHT);
-        }
+        performCenterSwipes(SwipeElementDirection.RIGHT, times);
     }
 
     public Locomotive hideKeyboard() {
         try {
             getAppiumDriver().hideKeyboard();
+            uiChanged();
         } catch (WebDriverException e) {
             Logger.error("WARN:" + e.getMessage());
         }
@@ -524,54 +858,71 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
             from = getCenter(/*element=*/null);
         }
 
-        Dimension screen = getAppiumDriver().manage().window().getSize();
-        Point to = null;
-        if (direction != null) {
-            switch (direction) {
-                case UP:
-                    int toYUp = (int) (from.getY() - (screen.getHeight() * percentage));
-                    toYUp = toYUp <= 0 ? 1 : toYUp; // toYUp cannot be less than 0
-                    to = new Point(from.getX(), toYUp);
-                    break;
-                case RIGHT:
-                    int toXRight = (int) (from.getX() + (screen.getWidth() * percentage));
-                    toXRight = toXRight >= screen.getWidth() ? screen.getWidth() - 1 : toXRight; // toXRight cannot be longer than screen width
-                    to = new Point(toXRight, from.getY());
-                    break;
-                case DOWN:
-                    int toYDown = (int) (from.getY() + (screen.getHeight() * percentage));
-                    toYDown = toYDown >= screen.getHeight() ? screen.getHeight() - 1 : toYDown; // toYDown cannot be longer than screen height
-                    to = new Point(from.getX(), toYDown);
-                    break;
-                case LEFT:
-                    int toXLeft = (int) (from.getX() - (screen.getWidth() * percentage));
-                    toXLeft = toXLeft <= 0 ? 1 : toXLeft; // toXLeft cannot be less than 0
-                    to = new Point(toXLeft, from.getY());
-                    break;
-                default:
-                    throw new IllegalArgumentException("Swipe Direction not specified: " + direction.name());
+        Gesture gesture = gesture();
+        Point to = gesture.target(from, direction, percentage);
+        perform(gesture.swipe(from, to, swipeDuration(from, to)));
+        return waitForSwipeToSettle();
+    }
+
+    /**
+     * Swipes without momentum are sent in one request. Swipes with momentum are sent one by one, each left to settle
+     * before the next, as touching the screen again would stop the content moving.
+     */
+    private Locomotive performCenterSwipes(SwipeElementDirection direction, int times) {
+        if (times <= 0) {
+            return this;
+        }
+        Point center = getCenter(/*element=*/null);
+        Point to = gesture().target(center, direction, SWIPE_DISTANCE_LONG);
+        Duration duration = swipeDuration(center, to);
+        if (configuration.getSwipeProfile().hasMomentum()) {
+            for (int i = 0; i < times; i++) {
+                perform(gesture().swipe(center, to, duration));
+                waitForSwipeToSettle();
             }
-        } else {
-            throw new IllegalArgumentException("Swipe Direction not specified");
+            return this;
+        }
+        Gesture gesture = gesture();
+        for (int i = 0; i < times; i++) {
+            gesture.swipe(center, to, duration);
         }
+        return perform(gesture);
+    }
 
-        // Appium specifies that TouchAction.moveTo should be relative. iOS implements this correctly, but android
-        // does not. As a result we have to check if we're on iOS and perform the relativization manually
-        if(configuration.getPlatformName() == Platform.IOS) {
-            to = new Point(to.getX() - from.getX(), to.getY() - from.getY());
+    /**
+     * @return How long a swipe between two points takes with the configured {@link SwipeProfile}
+     */
+    private Duration swipeDuration(Point from, Point to) {
+        SwipeProfile profile = configuration.getSwipeProfile();
+        int velocity = configuration.getSwipeVelocity(profile);
+        if (velocity <= 0) {
+            return ofMillis(SWIPE_DURATION_MILLIS);
         }
+        return Gesture.durationAt(from, to, velocity);
+    }
 
-        TouchAction swipe = new TouchAction(getAppiumDriver())
-                .press(point(from.getX(), from.getY()))
-                .waitAction(waitOptions(ofMillis(SWIPE_DURATION_MILLIS)))
-                .moveTo(point(to.getX(), to.getY()))
-                .release();
-        swipe.perform();
+    /**
+     * After a swipe that leaves the content moving, wait until two page sources in a row are the same or the
+     * settle timeout passes.
+     */
+    private Locomotive waitForSwipeToSettle() {
+        int timeout = configuration.getSwipeSettleTimeoutMillis();
+        if (!configuration.getSwipeProfile().hasMomentum() || timeout <= 0) {
+            return this;
+        }
+        String[] last = {null};
+        new DeadlineWait(timeout, 2, getPollingStrategy()).until(() -> {
+            String source = getAppiumDriver().getPageSource();
+            boolean settled = source != null && source.equals(last[0]);
+            last[0] = source;
+            return settled ? DeadlineWait.Outcome.DONE : DeadlineWait.Outcome.PARTIAL;
+        });
+        uiChanged();
         return this;
     }
-  
+
     private Locomotive performCornerSwipe(ScreenCorner corner, SwipeElementDirection direction, float percentage, int duration) {
-        Dimension screen = getAppiumDriver().manage().window().getSize();
+        Dimension screen = getWindowSize();
 
         final int SCREEN_MARGIN = 10;
 
@@ -597,56 +948,60 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
             throw new IllegalArgumentException("Corner not specified");
         }
 
-        Point to;
-        if(direction != null) {
-            switch(direction) {
-                case UP:
-                    int toYUp = (int) (from.getY() - (screen.getHeight() * percentage));
-                    toYUp = toYUp <= 0 ? 1 : toYUp;
-                    to = new Point(from.getX(), toYUp);
-                    break;
-                case RIGHT:
-                    int toXRight = (int) (from.getX() + (screen.getWidth() * percentage));
-                    toXRight = toXRight >= screen.getWidth() ? screen.getWidth() - 1 : toXRight; // toXRight cannot be longer than screen width;
-                    to = new Point(toXRight, from.getY());
-                    break;
-                case DOWN:
-                    int toYDown = (int) (from.getY() + (screen.getWidth() * percentage));
-                    toYDown = toYDown >= screen.getHeight() ? screen.getHeight() - 1 : toYDown; // toYDown cannot be longer than screen height;
-                    to = new Point(from.getX(), toYDown);
-                    break;
-                case LEFT:
-                    int toXLeft = (int) (from.getX() - (screen.getWidth() * percentage));
-                    toXLeft = toXLeft <= 0 ? 1 : toXLeft; // toXLeft cannot be less than 0
-                    to = new Point(toXLeft, from.getY());
-                    break;
-                default:
-                    throw new IllegalArgumentException("Swipe Direction not specified: " + direction.name());
-
-            }
-        } else {
-            throw new IllegalArgumentException("Swipe Direction not specified");
-        }
+        return perform(gesture().swipe(from, direction, percentage, ofMillis(duration)));
+    }
 
-        // Appium specifies that TouchAction.moveTo should be relative. iOS implements this correctly, but android
-        // does not. As a result we have to check if we're on iOS and perform the relativization manually
-        if(configuration.getPlatformName() == Platform.IOS) {
-            to = new Point(to.getX() - from.getX(), to.getY() - from.getY());
-        }
+    /**
+     * Start composing swipes, flings and taps that are sent to the device together by {@link #perform(Gesture)}.
+     */
+    public Gesture gesture() {
+        return new Gesture(getWindowSize());
+    }
 
-        new TouchAction(getAppiumDriver())
-                .press(point(from.getX(), from.getY()))
-                .waitAction(waitOptions(ofMillis(duration)))
-                .moveTo(point(to.getX(), to.getY()))
-                .release()
-                .perform();
+    /**
+     * Send a gesture to the device in a single request.
+     *
+     * @return The implementing class for fluency
+     */
+    public Locomotive perform(Gesture gesture) {
+        gesture.perform(getAppiumDriver());
+        uiChanged();
         return this;
     }
 
+    /**
+     * Scroll until an element is in view by swiping and looking for the element {@code attempts} times. With
+     * {@link ConductorConfig#isNativeScroll()} on, the platform scrolls instead, which finds the element in one or
+     * two requests: on Android the first scrollable container from its beginning, up to {@code attempts} swipes,
+     * and on iOS the container of the element in whichever direction reveals it. Swiping is the fallback when the
+     * locator or the device does not support it. With {@link ConductorConfig#isSnapshotSwipeTo()} on, swiping
+     * stops early when a swipe leaves the screen unchanged, i.e. the end of the list, and drags an element the page
+     * source already places off screen into view in one swipe, at the cost of a page source per attempt.
+     *
+     * @return The element, or null if it could not be found
+     */
     public WebElement swipeTo(SwipeElementDirection direction, By by, int attempts) {
+        if (configuration.isNativeScroll()) {
+            WebElement scrolled = nativeScrollTo(direction, by, attempts);
+            if (scrolled != null) {
+                return scrolled;
+            }
+        }
+
         WebElement element;
+        Integer lastFingerprint = null;
         for (int i = 0; i < attempts; i++) {
-            swipeCenterLong(direction);
+            HierarchySnapshot snapshot = configuration.isSnapshotSwipeTo() ? getSnapshot() : null;
+            if (snapshot != null) {
+                // the screen did not change since the last swipe, the end of the list has been reached
+                if (lastFingerprint != null && lastFingerprint == snapshot.fingerprint()) {
+                    break;
+                }
+                lastFingerprint = snapshot.fingerprint();
+            }
+            if (!swipeToKnownBounds(snapshot, direction, by)) {
+                swipeCenterLong(direction);
+            }
             try {
                 element = getAppiumDriver().findElement(by);
                 // element was found, check for visibility
@@ -664,6 +1019,66 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         return null;
     }
 
+    /**
+     * When the element is in the snapshot but off screen, drag it to the center of the screen in a single swipe.
+     * Dragging at {@link ConductorConfig#getDragVelocity()} moves the content exactly as far as the finger.
+     *
+     * @return Whether the element was in the snapshot and dragged towards the center
+     */
+    private boolean swipeToKnownBounds(HierarchySnapshot snapshot, SwipeElementDirection direction, By by) {
+        if (snapshot == null) {
+            return false;
+        }
+        Optional<List<SnapshotNode>> nodes = snapshot.find(by);
+        if (!nodes.isPresent() || nodes.get().size() != 1 || nodes.get().get(0).getBounds() == null) {
+            return false;
+        }
+        Gesture gesture = gesture();
+        Rectangle bounds = nodes.get().get(0).getBounds();
+        if (gesture.isOnScreen(bounds)) {
+            return false;
+        }
+        Point from = getCenter(/*element=*/null);
+        Point to = gesture.reveal(from, bounds, direction);
+        perform(gesture.swipe(from, to, Gesture.durationAt(from, to, configuration.getDragVelocity())));
+        return true;
+    }
+
+    /**
+     * @return The element scrolled into view, or null if there is no native scroll for the locator on this platform
+     * or it failed
+     */
+    private WebElement nativeScrollTo(SwipeElementDirection direction, By by, int attempts) {
+        try {
+            switch (configuration.getPlatformName()) {
+                case ANDROID:
+                    Optional<By> scrollIntoView = NativeScroll.androidScrollIntoView(by,
+                            configuration.getAppPackageName(), direction, attempts);
+                    if (scrollIntoView.isPresent()) {
+                        WebElement element = getAppiumDriver().findElement(scrollIntoView.get());
+                        uiChanged();
+                        return element;
+                    }
+                    break;
+                case IOS:
+                    Optional<Map<String, Object>> arguments = NativeScroll.iosScrollArguments(by);
+                    if (arguments.isPresent()) {
+                        getAppiumDriver().executeScript(NativeScroll.IOS_SCROLL, arguments.get());
+                        uiChanged();
+                        return getAppiumDriver().findElement(by);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (WebDriverException exception) {
+            // the screen may have scrolled before the command failed
+            uiChanged();
+            Logger.debug("Native scroll to {} failed, swiping instead: {}", by, exception.getMessage());
+        }
+        return null;
+    }
+
     public WebElement swipeTo(By by) {
         SwipeElementDirection s = SwipeElementDirection.UP;
         int attempts = 3;
@@ -691,11 +1106,13 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     public Point getCenter(WebElement element) {
         int x, y;
         if (element == null) {
-            x = getAppiumDriver().manage().window().getSize().getWidth() / 2;
-            y = getAppiumDriver().manage().window().getSize().getHeight() / 2;
+            Dimension screen = getWindowSize();
+            x = screen.getWidth() / 2;
+            y = screen.getHeight() / 2;
         } else {
-            x = element.getLocation().getX() + (element.getSize().getWidth() / 2);
-            y = element.getLocation().getY() + (element.getSize().getHeight() / 2);
+            Rectangle rect = getGeometryCache().getRect(element);
+            x = rect.getX() + (rect.getWidth() / 2);
+            y = rect.getY() + (rect.getHeight() / 2);
         }
         return new Point(x, y);
     }
@@ -716,9 +1133,12 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         return validatePresent(PageUtil.buildBy(configuration, id));
     }
 
+    /**
+     * Passes as soon as the wait finds the element. Asking {@link #isPresent(By)} again could answer from a snapshot
+     * taken before the element appeared.
+     */
     public Locomotive validatePresent(By by) {
-        waitForElement(by);
-        Assert.assertTrue("Element " + by.toString() + " does not exist!", isPresent(by));
+        Assert.assertNotNull("Element " + by.toString() + " does not exist!", waitForElement(by));
         return this;
     }
 
@@ -792,12 +1212,12 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive validateTextPresent(String text) {
-        Assert.assertTrue(getAppiumDriver().getPageSource().contains(text));
+        Assert.assertTrue(PageSourceTextSearch.containsText(getPageSource(), text));
         return this;
     }
 
     public Locomotive validateTextNotPresent(String text) {
-        Assert.assertFalse(getAppiumDriver().getPageSource().contains(text));
+        Assert.assertFalse(PageSourceTextSearch.containsText(getPageSource(), text));
         return this;
     }
 
@@ -910,6 +1330,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
                 break;
         }
 
+        uiChanged();
         return this;
     }
 
@@ -949,6 +1370,14 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         return testMethodName;
     }
 
+    /**
+     * @return How many attempts the session of the current thread took to start and how long it took, or null if
+     * the session was taken from the session pool
+     */
+    public SessionStartStats getSessionStartStats() {
+        return sessionStartStats.get();
+    }
+
     @Override
     public String getSessionId() {
         return sessionId.get();
@@ -0,0 +1,37 @@
+package com.joss.conductor.mobile;
+
+/**
+ * How fast element and center swipes move. Every profile but {@link #FIXED} moves at the velocity configured for it
+ * in {@link ConductorConfig}, so short swipes take less time than long ones.
+ */
+public enum SwipeProfile {
+    /**
+     * Every swipe takes two seconds, whatever its length
+     */
+    FIXED(false),
+    /**
+     * A quick swipe that leaves the content scrolling, the next step waits for the screen to settle
+     */
+    FLING(true),
+    /**
+     * A swipe at scrolling speed, the content may coast a little after it
+     */
+    SCROLL(true),
+    /**
+     * A slow swipe that moves the content exactly as far as the finger, e.g. for sliders and drag handles
+     */
+    DRAG(false);
+
+    private final boolean momentum;
+
+    SwipeProfile(boolean momentum) {
+        this.momentum = momentum;
+    }
+
+    /**
+     * @return Whether the content may keep moving after the finger is lifted
+     */
+    public boolean hasMomentum() {
+        return momentum;
+    }
+}
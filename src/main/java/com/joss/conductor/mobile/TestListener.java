@@ -1,10 +1,15 @@
 package com.joss.conductor.mobile;
 
+import com.joss.conductor.mobile.locator.LocatorHistory;
+import com.joss.conductor.mobile.profile.LocatorProfiler;
+import com.joss.conductor.mobile.util.ArtifactUtil;
 import com.joss.conductor.mobile.util.ScreenShotUtil;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.io.File;
+
 /**
  * Created on 3/21/17.
  */
@@ -45,6 +50,8 @@ public class TestListener implements ITestListener {
     }
 
     public void onFinish(ITestContext context) {
-
+        LocatorProfiler.getInstance().writeReport(new File(ArtifactUtil.WORKING_DIR,
+                ArtifactUtil.DIR + File.separator + "locator-profile.txt"));
+        LocatorHistory.getInstance().save();
     }
 }
@@ -0,0 +1,13 @@
+package com.joss.conductor.mobile.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a {@link org.openqa.selenium.WebElement} field annotated with {@link AndroidFindBy} / {@link IOSFindBy} whose
+ * element is looked up once and then reused for as long as the page lives. Without it the element is looked up again
+ * every time the field is used. Either way a stale element is looked up again automatically.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Cached {
+}
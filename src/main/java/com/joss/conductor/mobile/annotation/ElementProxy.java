@@ -0,0 +1,93 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.exception.PlatformFindByException;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+
+/**
+ * The {@link WebElement} set on annotated WebElement fields. Nothing is looked up until the element is first used,
+ * a {@link Cached} proxy then keeps the element it found, and a stale element is looked up again and the call retried
+ * once.
+ */
+public final class ElementProxy implements InvocationHandler {
+
+    private final By by;
+    private final Function<By, WebElement> resolver;
+    private final boolean cached;
+
+    private volatile WebElement element;
+
+    private ElementProxy(By by, Function<By, WebElement> resolver, boolean cached) {
+        this.by = by;
+        this.resolver = resolver;
+        this.cached = cached;
+    }
+
+    /**
+     * @param by The locator of the element
+     * @param resolver Looks the element up, typically {@code Locomotive::waitForElement}
+     * @param cached Whether the element found is kept for later calls
+     * @return A proxy that looks the element up when it is used
+     */
+    public static WebElement of(By by, Function<By, WebElement> resolver, boolean cached) {
+        if (resolver == null) {
+            throw new PlatformFindByException("WebElement fields need a driver to be bound, "
+                    + "use PlatformFindByHelper.initIds(page, driver)");
+        }
+        return (WebElement) Proxy.newProxyInstance(ElementProxy.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class},
+                new ElementProxy(by, resolver, cached));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "Proxy element for: " + by;
+            }
+        }
+        if (method.getDeclaringClass() == WrapsElement.class) {
+            return resolve();
+        }
+
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                throw e.getCause();
+            }
+        }
+
+        element = null;
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private WebElement resolve() {
+        if (!cached) {
+            return resolver.apply(by);
+        }
+        WebElement current = element;
+        if (current == null) {
+            current = resolver.apply(by);
+            element = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,96 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.exception.PlatformFindByException;
+import org.openqa.selenium.By;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One attribute of {@link AndroidFindBy} / {@link IOSFindBy} and the static factory building its locator. The lists
+ * below are the candidate order of both {@link PlatformFindByHelper} and the binders generated by
+ * {@link PlatformFindByProcessor}, so reflective and generated binding build the same {@code CompositeBy}.
+ *
+ * @param <A> The annotation the attribute belongs to
+ */
+final class FindByStrategy<A extends Annotation> {
+
+    private static final String BY = "org.openqa.selenium.By";
+    private static final String MOBILE_BY = "io.appium.java_client.MobileBy";
+
+    static final List<FindByStrategy<AndroidFindBy>> ANDROID = Collections.unmodifiableList(Arrays.asList(
+            new FindByStrategy<>(AndroidFindBy::value, BY, "id"),
+            new FindByStrategy<>(AndroidFindBy::accessibilityId, MOBILE_BY, "AccessibilityId"),
+            new FindByStrategy<>(AndroidFindBy::uiAutomator, MOBILE_BY, "AndroidUIAutomator"),
+            new FindByStrategy<>(AndroidFindBy::xpath, BY, "xpath"),
+            new FindByStrategy<>(AndroidFindBy::className, BY, "className")));
+
+    static final List<FindByStrategy<IOSFindBy>> IOS = Collections.unmodifiableList(Arrays.asList(
+            new FindByStrategy<>(IOSFindBy::value, BY, "name"),
+            new FindByStrategy<>(IOSFindBy::accessibilityId, MOBILE_BY, "AccessibilityId"),
+            new FindByStrategy<>(IOSFindBy::iOSNsPredicate, MOBILE_BY, "iOSNsPredicateString"),
+            new FindByStrategy<>(IOSFindBy::iOSClassChain, MOBILE_BY, "iOSClassChain"),
+            new FindByStrategy<>(IOSFindBy::xpath, BY, "xpath"),
+            new FindByStrategy<>(IOSFindBy::className, BY, "className")));
+
+    private final Function<A, String> attribute;
+    private final String factoryClass;
+    private final String factoryMethod;
+    private Method factory;
+
+    private FindByStrategy(Function<A, String> attribute, String factoryClass, String factoryMethod) {
+        this.attribute = attribute;
+        this.factoryClass = factoryClass;
+        this.factoryMethod = factoryMethod;
+    }
+
+    /**
+     * @return The value of the attribute, empty if it is not set
+     */
+    String valueOf(A annotation) {
+        return attribute.apply(annotation);
+    }
+
+    /**
+     * @return The qualified name of the factory, e.g. {@code org.openqa.selenium.By.id}, for generated sources
+     */
+    String getFactory() {
+        return factoryClass + "." + factoryMethod;
+    }
+
+    /**
+     * The factory is looked up by name, so the annotation processor does not need the locator classes loaded.
+     */
+    synchronized By build(String value) {
+        try {
+            if (factory == null) {
+                factory = Class.forName(factoryClass).getMethod(factoryMethod, String.class);
+            }
+            return (By) factory.invoke(null, value);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            throw new PlatformFindByException("Could not find " + getFactory() + ": " + e.getMessage());
+        } catch (InvocationTargetException e) {
+            throw new PlatformFindByException(getFactory() + " failed: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * @return The locators of the attributes set on the annotation, in candidate order
+     */
+    static <A extends Annotation> List<By> locators(A annotation, List<FindByStrategy<A>> strategies) {
+        List<By> candidates = new ArrayList<>();
+        for (FindByStrategy<A> strategy : strategies) {
+            String value = strategy.valueOf(annotation);
+            if (!value.isEmpty()) {
+                candidates.add(strategy.build(value));
+            }
+        }
+        return candidates;
+    }
+}
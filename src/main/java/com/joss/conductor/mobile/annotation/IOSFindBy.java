@@ -10,10 +10,18 @@ import java.lang.annotation.*;
 @Target(ElementType.FIELD)
 public @interface IOSFindBy {
 
-    //value() gets set By.name() by PlatformFindByHelper.
+    //value() gets set By.name() by PlatformFindByHelper. When more than one strategy is set, the field gets a CompositeBy
+    //that tries the fastest of them first.
     String value() default "";
 
     String xpath() default "";
 
     String className() default "";
+
+    //The server resolves these natively, without serializing the view hierarchy like xpath does
+    String accessibilityId() default "";
+
+    String iOSNsPredicate() default "";
+
+    String iOSClassChain() default "";
 }
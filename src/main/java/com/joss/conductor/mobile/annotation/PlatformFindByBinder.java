@@ -0,0 +1,24 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.Platform;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.function.Function;
+
+/**
+ * Sets the {@link AndroidFindBy} / {@link IOSFindBy} fields of a page. Implementations named {@code <Page>_Binder}
+ * are generated at compile time by {@link PlatformFindByProcessor} and picked up by
+ * {@link PlatformFindByHelper#initIds(Object, Platform, Function)}.
+ *
+ * @param <T> The page class
+ */
+public interface PlatformFindByBinder<T> {
+
+    /**
+     * @param page The page whose fields to set
+     * @param platform The platform to set the locators of
+     * @param resolver Looks up the elements of WebElement fields, may be null if the page has none
+     */
+    void bind(T page, Platform platform, Function<By, WebElement> resolver);
+}
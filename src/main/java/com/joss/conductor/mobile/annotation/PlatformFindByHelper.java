@@ -1,60 +1,194 @@
 package com.joss.conductor.mobile.annotation;
 
+import com.joss.conductor.mobile.Locomotive;
 import com.joss.conductor.mobile.Platform;
 import com.joss.conductor.mobile.exception.PlatformFindByException;
+import com.joss.conductor.mobile.locator.CompositeBy;
+import com.joss.conductor.mobile.locator.LocatorHistory;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
 
-import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Created on 3/14/18.
  */
 public final class PlatformFindByHelper {
 
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The binder of each page class, generated by {@link PlatformFindByProcessor} or else built from the
+     * annotations the first time a page of that class is initialized
+     */
+    private static final ClassValue<PlatformFindByBinder<Object>> BINDERS =
+            new ClassValue<PlatformFindByBinder<Object>>() {
+                @Override
+                protected PlatformFindByBinder<Object> computeValue(Class<?> type) {
+                    PlatformFindByBinder<Object> generated = generatedBinder(type);
+                    return generated != null ? generated : BindingPlan.of(type);
+                }
+            };
+
     public static void initIds(Object page, Platform platform) {
+        initIds(page, platform, null);
+    }
+
+    /**
+     * Also binds WebElement fields, to proxies that look their element up with the driver when they are used.
+     */
+    public static void initIds(Object page, Locomotive driver) {
+        initIds(page, driver.configuration.getPlatformName(), driver::waitForElement);
+    }
+
+    /**
+     * @param resolver Looks up the elements of WebElement fields, may be null if the page has none
+     */
+    public static void initIds(Object page, Platform platform, Function<By, WebElement> resolver) {
 
         try {
-            Class current = page.getClass();
-            do {
-                for (Field field : current.getDeclaredFields()) {
-                    for (Annotation annotation : field.getDeclaredAnnotations()) {
-
-                        if (annotation instanceof AndroidFindBy || annotation instanceof IOSFindBy) {
-                            if (!field.getType().equals(By.class)) {
-                                throw new PlatformFindByException(field.getName() + " must be of type By!");
-                            }
-                        }
+            BINDERS.get(page.getClass()).bind(page, platform, resolver);
+        } catch (PlatformFindByException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PlatformFindByException(e.getMessage());
+        }
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PlatformFindByBinder<Object> generatedBinder(Class<?> type) {
+        try {
+            Class<?> binder = Class.forName(type.getName() + PlatformFindByProcessor.BINDER_SUFFIX, true,
+                    type.getClassLoader());
+            if (!PlatformFindByBinder.class.isAssignableFrom(binder)) {
+                return null;
+            }
+            return (PlatformFindByBinder<Object>) binder.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new PlatformFindByException("Could not create the binder of " + type.getName() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * The setters of the annotated fields of a page class and the locators to set them to, per platform. Used for
+     * pages compiled without {@link PlatformFindByProcessor}.
+     */
+    private static class BindingPlan implements PlatformFindByBinder<Object> {
+        private final Map<Platform, FieldBinding[]> bindings = new EnumMap<>(Platform.class);
 
-                        if (annotation instanceof AndroidFindBy && platform.equals(Platform.ANDROID)) {
-                            AndroidFindBy androidFindByAnnotation = (AndroidFindBy) annotation;
-                            if (!androidFindByAnnotation.value().isEmpty()) {
-                                field.set(page, By.id(androidFindByAnnotation.value()));
-                            } else if (!androidFindByAnnotation.xpath().isEmpty()) {
-                                field.set(page, By.xpath(androidFindByAnnotation.xpath()));
-                            } else if (!androidFindByAnnotation.className().isEmpty()) {
-                                field.set(page, By.className(androidFindByAnnotation.className()));
-                            }
+        static BindingPlan of(Class<?> type) {
+            Map<Platform, List<FieldBinding>> bindings = new EnumMap<>(Platform.class);
+            bindings.put(Platform.ANDROID, new ArrayList<>());
+            bindings.put(Platform.IOS, new ArrayList<>());
+
+            try {
+                Class<?> current = type;
+                do {
+                    for (Field field : current.getDeclaredFields()) {
+                        AndroidFindBy android = field.getAnnotation(AndroidFindBy.class);
+                        IOSFindBy ios = field.getAnnotation(IOSFindBy.class);
+                        if (android == null && ios == null) {
+                            continue;
+                        }
+                        if (!field.getType().equals(By.class) && !field.getType().equals(WebElement.class)) {
+                            throw new PlatformFindByException(field.getName() + " must be of type By or WebElement!");
                         }
 
-                        if (annotation instanceof IOSFindBy && platform.equals(Platform.IOS)) {
-                            IOSFindBy iOSFindByAnnotation = (IOSFindBy) annotation;
-                            if (!iOSFindByAnnotation.value().isEmpty()) {
-                                field.set(page, By.name(iOSFindByAnnotation.value()));
-                            } else if (!iOSFindByAnnotation.xpath().isEmpty()) {
-                                field.set(page, By.xpath(iOSFindByAnnotation.xpath()));
-                            } else if (!iOSFindByAnnotation.className().isEmpty()) {
-                                field.set(page, By.className(iOSFindByAnnotation.className()));
-                            }
+                        MethodHandle setter = setter(field);
+                        if (android != null) {
+                            add(bindings, Platform.ANDROID, setter, field,
+                                    FindByStrategy.locators(android, FindByStrategy.ANDROID));
+                        }
+                        if (ios != null) {
+                            add(bindings, Platform.IOS, setter, field, FindByStrategy.locators(ios, FindByStrategy.IOS));
                         }
                     }
+                    current = current.getSuperclass();
+                } while (current != null);
+            } catch (IllegalAccessException e) {
+                throw new PlatformFindByException(e.getMessage());
+            }
+
+            BindingPlan plan = new BindingPlan();
+            for (Platform platform : bindings.keySet()) {
+                plan.bindings.put(platform, bindings.get(platform).toArray(new FieldBinding[0]));
+            }
+            return plan;
+        }
+
+        /**
+         * @return A setter taking the page and the value, for static fields too, which ignore the page
+         */
+        private static MethodHandle setter(Field field) throws IllegalAccessException {
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            return setter.asType(SETTER_TYPE);
+        }
+
+        @Override
+        public void bind(Object page, Platform platform, Function<By, WebElement> resolver) {
+            FieldBinding[] platformBindings = bindings.get(platform);
+            if (platformBindings == null) {
+                return;
+            }
+            try {
+                for (FieldBinding binding : platformBindings) {
+                    Object value = binding.element ? ElementProxy.of(binding.by, resolver, binding.cached) : binding.by;
+                    binding.setter.invokeExact(page, value);
                 }
-                current = current.getSuperclass();
-            } while (current != null);
-        } catch (Exception e) {
-            throw new PlatformFindByException(e.getMessage());
+            } catch (PlatformFindByException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new PlatformFindByException(e.getMessage());
+            }
         }
 
+        /**
+         * A single candidate is used as is, several candidates become a {@link CompositeBy} that learns which of
+         * them is the fastest.
+         */
+        private static void add(Map<Platform, List<FieldBinding>> bindings, Platform platform, MethodHandle setter,
+                                Field field, List<By> candidates) {
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            By by = candidates.get(0);
+            if (candidates.size() > 1) {
+                String key = field.getDeclaringClass().getName() + "." + field.getName();
+                by = new CompositeBy(key, candidates, LocatorHistory.getInstance());
+            }
+            bindings.get(platform).add(new FieldBinding(setter, by, field.getType().equals(WebElement.class),
+                    field.isAnnotationPresent(Cached.class)));
+        }
     }
-}
 
+    private static class FieldBinding {
+        private final MethodHandle setter;
+        private final By by;
+        private final boolean element;
+        private final boolean cached;
+
+        FieldBinding(MethodHandle setter, By by, boolean element, boolean cached) {
+            this.setter = setter;
+            this.by = by;
+            this.element = element;
+            this.cached = cached;
+        }
+    }
+}
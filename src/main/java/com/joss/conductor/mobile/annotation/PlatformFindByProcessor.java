@@ -0,0 +1,297 @@
+package com.joss.conductor.mobile.annotation;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Page>_Binder} for every class declaring {@link AndroidFindBy} / {@link IOSFindBy} fields, so
+ * pages are bound without reflection. Fields that are not of type By or WebElement, or that the binder cannot assign,
+ * are reported as compile errors.
+ */
+@SupportedAnnotationTypes({
+        "com.joss.conductor.mobile.annotation.AndroidFindBy",
+        "com.joss.conductor.mobile.annotation.IOSFindBy"})
+public class PlatformFindByProcessor extends AbstractProcessor {
+
+    static final String BINDER_SUFFIX = "_Binder";
+
+    private static final String BY = "org.openqa.selenium.By";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> pages = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(AndroidFindBy.class)) {
+            addField(pages, element);
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(IOSFindBy.class)) {
+            addField(pages, element);
+        }
+
+        for (Map.Entry<TypeElement, List<VariableElement>> page : pages.entrySet()) {
+            if (isValid(page.getValue())) {
+                generate(page.getKey(), page.getValue(), pages);
+            }
+        }
+        return false;
+    }
+
+    private static void addField(Map<TypeElement, List<VariableElement>> pages, Element element) {
+        if (element.getKind() != ElementKind.FIELD) {
+            return;
+        }
+        TypeElement page = (TypeElement) element.getEnclosingElement();
+        List<VariableElement> fields = pages.computeIfAbsent(page, key -> new ArrayList<>());
+        if (!fields.contains(element)) {
+            fields.add((VariableElement) element);
+        }
+    }
+
+    private boolean isValid(List<VariableElement> fields) {
+        boolean valid = true;
+        for (VariableElement field : fields) {
+            if (!isOfType(field, BY) && !isOfType(field, WEB_ELEMENT)) {
+                error(field, field.getSimpleName() + " must be of type By or WebElement!");
+                valid = false;
+            } else if (field.getAnnotation(Cached.class) != null && !isOfType(field, WEB_ELEMENT)) {
+                error(field, field.getSimpleName() + " must be of type WebElement to be cached");
+                valid = false;
+            } else if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                error(field, field.getSimpleName() + " must not be private to be bound");
+                valid = false;
+            } else if (field.getModifiers().contains(Modifier.FINAL)) {
+                error(field, field.getSimpleName() + " must not be final to be bound");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private boolean isOfType(VariableElement field, String type) {
+        TypeMirror mirror = processingEnv.getElementUtils().getTypeElement(type).asType();
+        return processingEnv.getTypeUtils().isSameType(field.asType(), mirror);
+    }
+
+    private void generate(TypeElement page, List<VariableElement> fields, Map<TypeElement, List<VariableElement>> pages) {
+        if (!isAccessible(page)) {
+            // the binder cannot name the page, PlatformFindByHelper falls back to reflection
+            return;
+        }
+
+        String superBinder = null;
+        TypeElement annotatedSuper = annotatedSuperclass(page, pages);
+        if (annotatedSuper != null) {
+            superBinder = binderName(annotatedSuper);
+            if (!pages.containsKey(annotatedSuper)
+                    && processingEnv.getElementUtils().getTypeElement(superBinder) == null) {
+                // the superclass was compiled without this processor, PlatformFindByHelper falls back to reflection
+                return;
+            }
+        }
+
+        String packageName = packageOf(page);
+        String binderName = binderName(page);
+        String simpleBinderName = binderName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String pageName = processingEnv.getTypeUtils().erasure(page.asType()).toString();
+        String key = processingEnv.getElementUtils().getBinaryName(page).toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(PlatformFindByProcessor.class.getSimpleName())
+                .append(" for {@link ").append(pageName).append("}, do not edit.\n */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleBinderName)
+                .append(" implements com.joss.conductor.mobile.annotation.PlatformFindByBinder<")
+                .append(pageName).append("> {\n\n");
+
+        StringBuilder android = new StringBuilder();
+        StringBuilder ios = new StringBuilder();
+        int constant = 0;
+        for (VariableElement field : fields) {
+            String target = (field.getModifiers().contains(Modifier.STATIC) ? pageName : "page")
+                    + "." + field.getSimpleName();
+            String fieldKey = key + "." + field.getSimpleName();
+            String cached = field.getAnnotation(Cached.class) != null ? "true" : "false";
+            boolean element = isOfType(field, WEB_ELEMENT);
+
+            AndroidFindBy androidFindBy = field.getAnnotation(AndroidFindBy.class);
+            if (androidFindBy != null) {
+                String locator = locator(fieldKey, candidates(androidFindBy, FindByStrategy.ANDROID));
+                if (locator != null) {
+                    String name = "ANDROID_" + constant++;
+                    constant(source, name, locator);
+                    assign(android, target, name, element, cached);
+                }
+            }
+            IOSFindBy iosFindBy = field.getAnnotation(IOSFindBy.class);
+            if (iosFindBy != null) {
+                String locator = locator(fieldKey, candidates(iosFindBy, FindByStrategy.IOS));
+                if (locator != null) {
+                    String name = "IOS_" + constant++;
+                    constant(source, name, locator);
+                    assign(ios, target, name, element, cached);
+                }
+            }
+        }
+
+        source.append("\n    @Override\n    public void bind(").append(pageName)
+                .append(" page, com.joss.conductor.mobile.Platform platform,\n")
+                .append("            java.util.function.Function<org.openqa.selenium.By, ")
+                .append("org.openqa.selenium.WebElement> resolver) {\n");
+        if (superBinder != null) {
+            source.append("        new ").append(superBinder).append("().bind(page, platform, resolver);\n");
+        }
+        source.append("        switch (platform) {\n")
+                .append("            case ANDROID:\n").append(android).append("                break;\n")
+                .append("            case IOS:\n").append(ios).append("                break;\n")
+                .append("            default:\n                break;\n")
+                .append("        }\n    }\n}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(binderName, page).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(page, "Could not generate " + binderName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The expressions building the locators of the attributes set on the annotation, in candidate order
+     */
+    private static <A extends Annotation> List<String> candidates(A annotation, List<FindByStrategy<A>> strategies) {
+        List<String> candidates = new ArrayList<>();
+        for (FindByStrategy<A> strategy : strategies) {
+            String value = strategy.valueOf(annotation);
+            if (!value.isEmpty()) {
+                candidates.add(strategy.getFactory() + "(" + literal(value) + ")");
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return The expression building the locator, a CompositeBy when several strategies are set, or null if none
+     */
+    private static String locator(String key, List<String> candidates) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        return "new com.joss.conductor.mobile.locator.CompositeBy(" + literal(key) + ", java.util.Arrays.asList("
+                + String.join(", ", candidates) + "), com.joss.conductor.mobile.locator.LocatorHistory.getInstance())";
+    }
+
+    private static void assign(StringBuilder bind, String target, String constant, boolean element, String cached) {
+        bind.append("                ").append(target).append(" = ");
+        if (element) {
+            bind.append("com.joss.conductor.mobile.annotation.ElementProxy.of(").append(constant)
+                    .append(", resolver, ").append(cached).append(")");
+        } else {
+            bind.append(constant);
+        }
+        bind.append(";\n");
+    }
+
+    private static void constant(StringBuilder source, String name, String locator) {
+        source.append("    private static final org.openqa.selenium.By ").append(name).append(" = ")
+                .append(locator).append(";\n");
+    }
+
+    private TypeElement annotatedSuperclass(TypeElement page, Map<TypeElement, List<VariableElement>> pages) {
+        TypeMirror superclass = page.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement type = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (pages.containsKey(type)) {
+                return type;
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (field.getAnnotation(AndroidFindBy.class) != null || field.getAnnotation(IOSFindBy.class) != null) {
+                    return type;
+                }
+            }
+            superclass = type.getSuperclass();
+        }
+        return null;
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String binderName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type) + BINDER_SUFFIX;
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
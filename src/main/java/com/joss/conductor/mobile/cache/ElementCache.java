@@ -0,0 +1,86 @@
+package com.joss.conductor.mobile.cache;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers the elements resolved for each locator during a session, so repeated actions on the same element do
+ * not have to look it up again. The cache has to be cleared whenever the screen may have changed, and entries that
+ * turn out to be stale are dropped with {@link #evictStale(By)}. Whether a cached element could be used is only known
+ * once the caller has checked it, so hits and misses are recorded by the caller.
+ */
+public class ElementCache {
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private int hits;
+    private int misses;
+    private int stale;
+
+    /**
+     * @param by The locator of the element
+     * @return The cached element, or null if the locator has not been resolved since the last clear
+     */
+    public WebElement get(By by) {
+        return elements.get(by);
+    }
+
+    /**
+     * Count a lookup that was answered by a cached element.
+     */
+    public void recordHit() {
+        hits++;
+    }
+
+    /**
+     * Count a lookup that had to go to the driver, because nothing was cached or the cached element was not usable.
+     */
+    public void recordMiss() {
+        misses++;
+    }
+
+    public void put(By by, WebElement element) {
+        elements.put(by, element);
+    }
+
+    /**
+     * Drop an element that is no longer attached to the screen.
+     *
+     * @param by The locator of the element
+     */
+    public void evictStale(By by) {
+        if (elements.remove(by) != null) {
+            stale++;
+        }
+    }
+
+    /**
+     * Forget every element, for example after an action that may have navigated to another screen.
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getStale() {
+        return stale;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", stale=" + stale;
+    }
+}
@@ -0,0 +1,69 @@
+package com.joss.conductor.mobile.cache;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the window size of a session until the orientation changes, and reads element geometry in a single
+ * getRect() call, falling back to getLocation() and getSize() on servers that do not support it.
+ */
+public class GeometryCache {
+
+    private Dimension windowSize;
+    private boolean rectUnsupported;
+    private int hits;
+    private int fetches;
+
+    /**
+     * @param fetch Fetches the window size from the device
+     * @return The window size, fetching it if the orientation changed since it was last fetched
+     */
+    public Dimension getWindowSize(Supplier<Dimension> fetch) {
+        if (windowSize != null) {
+            hits++;
+            return windowSize;
+        }
+        windowSize = fetch.get();
+        fetches++;
+        return windowSize;
+    }
+
+    /**
+     * @return The location and size of the element
+     */
+    public Rectangle getRect(WebElement element) {
+        if (!rectUnsupported) {
+            try {
+                return element.getRect();
+            } catch (UnsupportedOperationException | UnsupportedCommandException e) {
+                // legacy servers only know the separate location and size endpoints
+                rectUnsupported = true;
+            }
+        }
+        return new Rectangle(element.getLocation(), element.getSize());
+    }
+
+    /**
+     * Forget the window size, the next {@link #getWindowSize(Supplier)} fetches it again.
+     */
+    public void orientationChanged() {
+        windowSize = null;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getFetches() {
+        return fetches;
+    }
+
+    @Override
+    public String toString() {
+        return "window size hits=" + hits + ", fetches=" + fetches + (rectUnsupported ? ", no getRect" : "");
+    }
+}
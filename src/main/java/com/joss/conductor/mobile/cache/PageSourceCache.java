@@ -0,0 +1,57 @@
+package com.joss.conductor.mobile.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last page source fetched from the device, tagged with the UI generation it was fetched in. Every action
+ * that may change the screen bumps the generation with {@link #invalidate()}, so read-only checks in between share
+ * a single fetch.
+ */
+public class PageSourceCache {
+
+    private long generation;
+    private long snapshotGeneration = -1;
+    private String source;
+    private int hits;
+    private int fetches;
+
+    /**
+     * @param fetch Fetches the page source from the device
+     * @return The page source of the current generation, fetching it if needed
+     */
+    public String get(Supplier<String> fetch) {
+        if (source != null && snapshotGeneration == generation) {
+            hits++;
+            return source;
+        }
+        source = fetch.get();
+        snapshotGeneration = generation;
+        fetches++;
+        return source;
+    }
+
+    /**
+     * Start a new UI generation, the next {@link #get(Supplier)} fetches the page source again.
+     */
+    public void invalidate() {
+        generation++;
+        source = null;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getFetches() {
+        return fetches;
+    }
+
+    @Override
+    public String toString() {
+        return "generation=" + generation + ", hits=" + hits + ", fetches=" + fetches;
+    }
+}
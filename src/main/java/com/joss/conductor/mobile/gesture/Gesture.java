@@ -0,0 +1,167 @@
+package com.joss.conductor.mobile.gesture;
+
+import com.joss.conductor.mobile.SwipeElementDirection;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * A sequence of swipes, flings and taps of one finger, sent to the device as a single W3C actions request.
+ * <p>
+ * W3C pointer moves are absolute viewport coordinates on both Android and iOS, so unlike TouchAction.moveTo there is
+ * no coordinate to relativize per platform. Targets computed from a direction are kept inside the screen.
+ */
+public class Gesture {
+
+    public static final Duration FLING_DURATION = Duration.ofMillis(100);
+
+    private static final long MIN_SWIPE_MILLIS = 20;
+
+    private static final int BUTTON = PointerInput.MouseButton.LEFT.asArg();
+
+    private final Dimension screen;
+    private final PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+    private final Sequence sequence = new Sequence(finger, 0);
+    private int strokes;
+
+    /**
+     * @param screen The window size, used to compute and bound the targets of directional swipes
+     */
+    public Gesture(Dimension screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * Press at a point, drag to another over the given duration and release.
+     */
+    public Gesture swipe(Point from, Point to, Duration duration) {
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(),
+                from.getX(), from.getY()));
+        sequence.addAction(finger.createPointerDown(BUTTON));
+        sequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(),
+                to.getX(), to.getY()));
+        sequence.addAction(finger.createPointerUp(BUTTON));
+        strokes++;
+        return this;
+    }
+
+    /**
+     * Swipe from a point towards a direction, over a fraction of the screen size.
+     *
+     * @param percentage The distance to swipe, as a fraction of the screen height or width
+     */
+    public Gesture swipe(Point from, SwipeElementDirection direction, float percentage, Duration duration) {
+        return swipe(from, target(from, direction, percentage), duration);
+    }
+
+    /**
+     * @return How long a swipe between two points takes at the given velocity
+     */
+    public static Duration durationAt(Point from, Point to, int pixelsPerSecond) {
+        double distance = Math.hypot(to.getX() - from.getX(), to.getY() - from.getY());
+        return Duration.ofMillis(Math.max(MIN_SWIPE_MILLIS, Math.round(distance * 1000 / pixelsPerSecond)));
+    }
+
+    /**
+     * A quick swipe, the content keeps scrolling after the finger is lifted.
+     */
+    public Gesture fling(Point from, SwipeElementDirection direction, float percentage) {
+        return swipe(from, direction, percentage, FLING_DURATION);
+    }
+
+    public Gesture tap(Point at) {
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(),
+                at.getX(), at.getY()));
+        sequence.addAction(finger.createPointerDown(BUTTON));
+        sequence.addAction(finger.createPointerUp(BUTTON));
+        strokes++;
+        return this;
+    }
+
+    /**
+     * Wait between two strokes, e.g. to let a fling settle.
+     */
+    public Gesture pause(Duration duration) {
+        sequence.addAction(new Pause(finger, duration));
+        return this;
+    }
+
+    /**
+     * @return The number of swipes and taps in the gesture
+     */
+    public int getStrokes() {
+        return strokes;
+    }
+
+    public Sequence toSequence() {
+        return sequence;
+    }
+
+    /**
+     * Send the whole gesture in one request.
+     */
+    public void perform(Interactive driver) {
+        if (strokes == 0) {
+            return;
+        }
+        driver.perform(Collections.singletonList(sequence));
+    }
+
+    /**
+     * @return Whether the center of the bounds is on the screen
+     */
+    public boolean isOnScreen(Rectangle bounds) {
+        int x = bounds.getX() + bounds.getWidth() / 2;
+        int y = bounds.getY() + bounds.getHeight() / 2;
+        return x >= 0 && x < screen.getWidth() && y >= 0 && y < screen.getHeight();
+    }
+
+    /**
+     * The point to drag to from a point so that content at the given bounds moves to that point, along the axis of
+     * the direction. Dragging is limited to the screen, so content further away than that needs more than one drag.
+     */
+    public Point reveal(Point from, Rectangle bounds, SwipeElementDirection direction) {
+        if (direction == SwipeElementDirection.LEFT || direction == SwipeElementDirection.RIGHT) {
+            int toX = from.getX() - (bounds.getX() + bounds.getWidth() / 2 - from.getX());
+            return new Point(Math.max(1, Math.min(screen.getWidth() - 1, toX)), from.getY());
+        }
+        int toY = from.getY() - (bounds.getY() + bounds.getHeight() / 2 - from.getY());
+        return new Point(from.getX(), Math.max(1, Math.min(screen.getHeight() - 1, toY)));
+    }
+
+    /**
+     * @return The point the given fraction of the screen away from a point, kept inside the screen
+     */
+    public Point target(Point from, SwipeElementDirection direction, float percentage) {
+        if (direction == null) {
+            throw new IllegalArgumentException("Swipe Direction not specified");
+        }
+        switch (direction) {
+            case UP:
+                int toYUp = (int) (from.getY() - (screen.getHeight() * percentage));
+                toYUp = toYUp <= 0 ? 1 : toYUp; // toYUp cannot be less than 0
+                return new Point(from.getX(), toYUp);
+            case RIGHT:
+                int toXRight = (int) (from.getX() + (screen.getWidth() * percentage));
+                toXRight = toXRight >= screen.getWidth() ? screen.getWidth() - 1 : toXRight; // toXRight cannot be longer than screen width
+                return new Point(toXRight, from.getY());
+            case DOWN:
+                int toYDown = (int) (from.getY() + (screen.getHeight() * percentage));
+                toYDown = toYDown >= screen.getHeight() ? screen.getHeight() - 1 : toYDown; // toYDown cannot be longer than screen height
+                return new Point(from.getX(), toYDown);
+            case LEFT:
+                int toXLeft = (int) (from.getX() - (screen.getWidth() * percentage));
+                toXLeft = toXLeft <= 0 ? 1 : toXLeft; // toXLeft cannot be less than 0
+                return new Point(toXLeft, from.getY());
+            default:
+                throw new IllegalArgumentException("Swipe Direction not specified: " + direction.name());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.joss.conductor.mobile.gesture;
+
+import com.joss.conductor.mobile.SwipeElementDirection;
+import com.joss.conductor.mobile.locator.CompositeBy;
+import io.appium.java_client.MobileBy;
+import org.openqa.selenium.By;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Translates locators into the scroll commands the platforms run on the device: UiScrollable.scrollIntoView on
+ * Android and {@code mobile: scroll} with a predicate on iOS. Locators the platform cannot express, e.g. xpath, have
+ * no native scroll and are left to swipe-and-find loops.
+ */
+public final class NativeScroll {
+
+    public static final String IOS_SCROLL = "mobile: scroll";
+
+    private static final String UI_SELECTOR = "new UiSelector()";
+    private static final String UI_SCROLLABLE = "new UiScrollable(new UiSelector().scrollable(true))";
+
+    private NativeScroll() {
+    }
+
+    /**
+     * UiScrollable scrolls back to the beginning of the first scrollable container before searching forward, so it
+     * does not keep the current position and may pick the wrong container in nested layouts.
+     *
+     * @param direction The direction of the swipes that would reveal the element, LEFT and RIGHT scroll a
+     *                  horizontal list
+     * @param appPackage The package of the app under test, which ids without a package belong to, may be null
+     * @param maxSwipes The most swipes to search forward with
+     * @return A UiAutomator locator that scrolls the first scrollable container until the element is in view, or
+     * empty if the locator has no UiSelector equivalent
+     */
+    public static Optional<By> androidScrollIntoView(By by, String appPackage, SwipeElementDirection direction,
+                                                     int maxSwipes) {
+        Optional<String> selector = firstOf(by, candidate -> uiSelector(candidate, appPackage));
+        if (!selector.isPresent()) {
+            return Optional.empty();
+        }
+        String scrollable = UI_SCROLLABLE;
+        if (direction == SwipeElementDirection.LEFT || direction == SwipeElementDirection.RIGHT) {
+            scrollable += ".setAsHorizontalList()";
+        }
+        return Optional.of(MobileBy.AndroidUIAutomator(scrollable + ".setMaxSearchSwipes(" + maxSwipes + ")"
+                + ".scrollIntoView(" + selector.get() + ")"));
+    }
+
+    /**
+     * The scroll direction is left to WebDriverAgent, which scrolls the element's container until it is visible.
+     *
+     * @return The arguments of {@code mobile: scroll} that scroll until the element is visible, or empty if the
+     * locator has no predicate equivalent
+     */
+    public static Optional<Map<String, Object>> iosScrollArguments(By by) {
+        Optional<String> predicate = firstOf(by, NativeScroll::predicate);
+        if (!predicate.isPresent()) {
+            return Optional.empty();
+        }
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("predicateString", predicate.get());
+        arguments.put("toVisible", true);
+        return Optional.of(arguments);
+    }
+
+    static Optional<String> uiSelector(By by, String appPackage) {
+        String locator = by.toString();
+        if (locator.startsWith("By.id: ")) {
+            String id = value(locator, "By.id: ");
+            if (id.contains(":id/")) {
+                return Optional.of(UI_SELECTOR + ".resourceId(" + quote(id) + ")");
+            } else if (appPackage != null && !appPackage.isEmpty()) {
+                // the server completes ids without a package with the package of the app
+                return Optional.of(UI_SELECTOR + ".resourceId(" + quote(appPackage + ":id/" + id) + ")");
+            }
+        } else if (locator.startsWith("By.AccessibilityId: ")) {
+            return Optional.of(UI_SELECTOR + ".description(" + quote(value(locator, "By.AccessibilityId: ")) + ")");
+        } else if (locator.startsWith("By.className: ")) {
+            return Optional.of(UI_SELECTOR + ".className(" + quote(value(locator, "By.className: ")) + ")");
+        } else if (locator.startsWith("By.AndroidUIAutomator: ")) {
+            String selector = value(locator, "By.AndroidUIAutomator: ");
+            if (selector.startsWith(UI_SELECTOR)) {
+                return Optional.of(selector);
+            }
+        }
+        return Optional.empty();
+    }
+
+    static Optional<String> predicate(By by) {
+        String locator = by.toString();
+        if (locator.startsWith("By.IosNsPredicate: ")) {
+            return Optional.of(value(locator, "By.IosNsPredicate: "));
+        } else if (locator.startsWith("By.AccessibilityId: ")) {
+            return Optional.of("name == " + literal(value(locator, "By.AccessibilityId: ")));
+        } else if (locator.startsWith("By.name: ")) {
+            return Optional.of("name == " + literal(value(locator, "By.name: ")));
+        } else if (locator.startsWith("By.id: ")) {
+            return Optional.of("name == " + literal(value(locator, "By.id: ")));
+        } else if (locator.startsWith("By.className: ")) {
+            return Optional.of("type == " + literal(value(locator, "By.className: ")));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return The translation of the locator, or of the first candidate of a {@link CompositeBy} that has one
+     */
+    private static Optional<String> firstOf(By by, Function<By, Optional<String>> translation) {
+        List<By> candidates = by instanceof CompositeBy
+                ? ((CompositeBy) by).getCandidates()
+                : Collections.singletonList(by);
+        for (By candidate : candidates) {
+            Optional<String> translated = translation.apply(candidate);
+            if (translated.isPresent()) {
+                return translated;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String value(String locator, String prefix) {
+        return locator.substring(prefix.length());
+    }
+
+    /**
+     * @return A Java string literal, as UiSelector arguments are parsed by UiAutomator
+     */
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * @return An NSPredicate string literal
+     */
+    private static String literal(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
@@ -0,0 +1,72 @@
+package com.joss.conductor.mobile.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A locator with several candidate strategies for the same element. Candidates are tried in the order learned by
+ * a {@link LocatorHistory} and the elements of the first one that finds anything are returned.
+ */
+public class CompositeBy extends By {
+
+    private final String key;
+    private final List<By> candidates;
+    private final LocatorHistory history;
+
+    /**
+     * @param key A name for the element that stays the same between runs, e.g. the page class and field name
+     * @param candidates The candidates in declared order
+     * @param history Where the fastest candidate is learned
+     */
+    public CompositeBy(String key, List<By> candidates, LocatorHistory history) {
+        this.key = key;
+        this.candidates = Collections.unmodifiableList(new ArrayList<>(candidates));
+        this.history = history;
+    }
+
+    public List<By> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Candidates that miss are only recorded as failures when a later candidate finds the element: when none does,
+     * the element may just not be there yet, and only the final outcome of the wait is recorded, by
+     * {@link #recordMiss()}.
+     */
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        List<By> missed = new ArrayList<>();
+        for (By candidate : history.order(key, candidates)) {
+            long started = System.currentTimeMillis();
+            List<WebElement> elements = context.findElements(candidate);
+            if (elements != null && !elements.isEmpty()) {
+                history.record(key, candidate, true, System.currentTimeMillis() - started);
+                for (By miss : missed) {
+                    history.record(key, miss, false, 0);
+                }
+                return elements;
+            }
+            missed.add(candidate);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Record that a wait for the element gave up without any candidate finding it.
+     */
+    public void recordMiss() {
+        for (By candidate : candidates) {
+            history.record(key, candidate, false, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "By.composite: " + candidates;
+    }
+}
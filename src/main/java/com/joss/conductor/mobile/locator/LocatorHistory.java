@@ -0,0 +1,188 @@
+package com.joss.conductor.mobile.locator;
+
+import com.joss.conductor.mobile.util.ArtifactUtil;
+import org.openqa.selenium.By;
+import org.pmw.tinylog.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Remembers which candidate of a {@link CompositeBy} found its element and how fast, so the next lookup (and the
+ * next run, once {@link #save()} has been called) starts with the fastest strategy that works.
+ */
+public class LocatorHistory {
+
+    static final String DEFAULT_FILE = ArtifactUtil.DIR + File.separator + "locator-history.properties";
+
+    /**
+     * What a failed lookup costs compared to a slow one: a failure means trying the next candidate as well
+     */
+    static final long FAILURE_MILLIS = 1000;
+
+    static final int RETRY_EVERY = 20;
+
+    private static LocatorHistory instance;
+
+    private final File file;
+    private final Map<String, Outcomes> outcomes = new HashMap<>();
+    private final Map<String, Integer> lookups = new HashMap<>();
+    private boolean dirty;
+
+    public static synchronized LocatorHistory getInstance() {
+        if (instance == null) {
+            instance = new LocatorHistory(new File(ArtifactUtil.WORKING_DIR, DEFAULT_FILE));
+            final LocatorHistory history = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(history::save, "conductor-locator-history-save"));
+        }
+        return instance;
+    }
+
+    /**
+     * @param file The file the history is read from and saved to
+     */
+    public LocatorHistory(File file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Order the candidates of a locator by their expected cost: the rate at which they failed to find an element
+     * that was there, weighed as {@link #FAILURE_MILLIS} per lookup, plus the mean time they took to find it.
+     * Untried candidates count as failing half of the time. Every {@link #RETRY_EVERY} lookups of a locator one of
+     * the lower ranked candidates is tried first instead, so a candidate that failed early on can win its place
+     * back. Ties keep the declared order.
+     *
+     * @param key The name of the composite locator
+     * @param candidates The candidates in declared order
+     * @return The candidates in the order they should be tried
+     */
+    public synchronized List<By> order(String key, List<By> candidates) {
+        List<By> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparingLong((By candidate) -> outcomesOf(key, candidate).cost()));
+        int lookup = lookups.merge(key, 1, Integer::sum);
+        if (ordered.size() > 1 && lookup % RETRY_EVERY == 0) {
+            int retried = 1 + (lookup / RETRY_EVERY - 1) % (ordered.size() - 1);
+            ordered.add(0, ordered.remove(retried));
+        }
+        return ordered;
+    }
+
+    /**
+     * Record one lookup made with a candidate. A failure should only be recorded when the element was there, i.e.
+     * another candidate found it, or when a whole wait for it gave up.
+     */
+    public synchronized void record(String key, By candidate, boolean found, long millis) {
+        Outcomes candidateOutcomes = outcomes.computeIfAbsent(entry(key, candidate), entry -> new Outcomes());
+        if (found) {
+            candidateOutcomes.successes++;
+            candidateOutcomes.totalMillis += millis;
+        } else {
+            candidateOutcomes.failures++;
+        }
+        dirty = true;
+    }
+
+    /**
+     * Write what was learned to the history file, if anything changed since the last save.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (Map.Entry<String, Outcomes> entry : outcomes.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            Logger.warn("Could not create directory {}", parent);
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Locator history, delete to start over");
+            dirty = false;
+        } catch (IOException e) {
+            Logger.warn(e, "Could not save locator history to {}", file);
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            Logger.warn(e, "Could not read locator history from {}", file);
+            return;
+        }
+        for (String name : properties.stringPropertyNames()) {
+            Outcomes parsed = Outcomes.parse(properties.getProperty(name));
+            if (parsed != null) {
+                outcomes.put(name, parsed);
+            }
+        }
+    }
+
+    private Outcomes outcomesOf(String key, By candidate) {
+        Outcomes candidateOutcomes = outcomes.get(entry(key, candidate));
+        return candidateOutcomes == null ? Outcomes.UNTRIED : candidateOutcomes;
+    }
+
+    private static String entry(String key, By candidate) {
+        return key + "|" + candidate;
+    }
+
+    private static class Outcomes {
+        static final Outcomes UNTRIED = new Outcomes();
+
+        int successes;
+        int failures;
+        long totalMillis;
+
+        /**
+         * @return The failure rate, smoothed so that a single lookup does not decide it, in FAILURE_MILLIS plus the
+         * mean time to find the element
+         */
+        long cost() {
+            double failureRate = (failures + 1.0) / (successes + failures + 2.0);
+            return Math.round(failureRate * FAILURE_MILLIS) + meanMillis();
+        }
+
+        long meanMillis() {
+            return successes == 0 ? 0 : totalMillis / successes;
+        }
+
+        static Outcomes parse(String value) {
+            String[] parts = value.split(",");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                Outcomes parsed = new Outcomes();
+                parsed.successes = Integer.parseInt(parts[0]);
+                parsed.failures = Integer.parseInt(parts[1]);
+                parsed.totalMillis = Long.parseLong(parts[2]);
+                return parsed;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return successes + "," + failures + "," + totalMillis;
+        }
+    }
+}
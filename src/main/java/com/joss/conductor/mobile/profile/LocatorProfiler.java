@@ -0,0 +1,197 @@
+package com.joss.conductor.mobile.profile;
+
+import com.joss.conductor.mobile.snapshot.HierarchySnapshot;
+import com.joss.conductor.mobile.snapshot.SnapshotNode;
+import io.appium.java_client.MobileBy;
+import org.openqa.selenium.By;
+import org.pmw.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how long each locator takes to resolve so the slowest ones can be fixed first. Xpath locators are
+ * checked once against a snapshot of the screen for an id or accessibility id that matches the same element.
+ */
+public class LocatorProfiler {
+
+    private static LocatorProfiler instance;
+
+    private final ConcurrentMap<String, LocatorStats> stats = new ConcurrentHashMap<>();
+
+    public static synchronized LocatorProfiler getInstance() {
+        if (instance == null) {
+            instance = new LocatorProfiler();
+        }
+        return instance;
+    }
+
+    public LocatorProfiler() {
+    }
+
+    /**
+     * Record a lookup.
+     *
+     * @param by The locator
+     * @param millis The time spent resolving it
+     * @param attempts The number of server lookups made
+     * @param found Whether an element was found in the end
+     */
+    public void record(By by, long millis, int attempts, boolean found) {
+        statsOf(by).record(millis, attempts, found);
+    }
+
+    /**
+     * @param by The locator
+     * @return true the first time this is called for an xpath locator, which then should be checked for a faster
+     * equivalent with {@link #suggest(By, HierarchySnapshot)}
+     */
+    public boolean needsSuggestion(By by) {
+        LocatorStats locatorStats = statsOf(by);
+        if (!"xpath".equals(locatorStats.getStrategy())) {
+            return false;
+        }
+        synchronized (locatorStats) {
+            if (locatorStats.getSuggestion() != null) {
+                return false;
+            }
+            // an empty suggestion marks the locator as checked
+            locatorStats.setSuggestion("");
+            return true;
+        }
+    }
+
+    /**
+     * Look for an id or accessibility id that matches the same single element as the locator.
+     *
+     * @param by The locator
+     * @param snapshot The screen the locator was just resolved on, may be null
+     */
+    public void suggest(By by, HierarchySnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        By equivalent = fasterEquivalent(by, snapshot);
+        if (equivalent != null) {
+            statsOf(by).setSuggestion(equivalent.toString());
+        }
+    }
+
+    static By fasterEquivalent(By by, HierarchySnapshot snapshot) {
+        Optional<List<SnapshotNode>> nodes = snapshot.find(by);
+        if (!nodes.isPresent() || nodes.get().size() != 1) {
+            return null;
+        }
+        SnapshotNode node = nodes.get().get(0);
+        List<By> candidates = new ArrayList<>();
+        if (!node.getResourceId().isEmpty()) {
+            candidates.add(By.id(node.getResourceId()));
+        }
+        if (!node.getName().isEmpty()) {
+            candidates.add(MobileBy.AccessibilityId(node.getName()));
+        }
+        for (By candidate : candidates) {
+            Optional<List<SnapshotNode>> matches = snapshot.find(candidate);
+            if (matches.isPresent() && matches.get().size() == 1) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Every locator recorded, slowest in total first
+     */
+    public List<LocatorStats> getStats() {
+        List<LocatorStats> ranked = new ArrayList<>(stats.values());
+        ranked.sort(Comparator.comparingLong(LocatorStats::getTotalMillis).reversed());
+        return ranked;
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder("Locator profile, slowest first\n\n");
+        Map<String, long[]> strategies = new TreeMap<>();
+        for (LocatorStats locatorStats : getStats()) {
+            report.append(String.format("%8d ms total %6d ms avg %6d ms max %4d lookups %5.1f attempts/lookup "
+                            + "%3d misses  %s",
+                    locatorStats.getTotalMillis(),
+                    locatorStats.getTotalMillis() / locatorStats.getLookups(),
+                    locatorStats.getMaxMillis(),
+                    locatorStats.getLookups(),
+                    locatorStats.getAttempts() / (double) locatorStats.getLookups(),
+                    locatorStats.getMisses(),
+                    locatorStats.getLocator()));
+            String suggestion = locatorStats.getSuggestion();
+            if (suggestion != null && !suggestion.isEmpty()) {
+                report.append("  -> try ").append(suggestion);
+            }
+            report.append('\n');
+
+            long[] totals = strategies.computeIfAbsent(locatorStats.getStrategy(), strategy -> new long[2]);
+            totals[0] += locatorStats.getLookups();
+            totals[1] += locatorStats.getTotalMillis();
+        }
+
+        report.append("\nPer strategy\n\n");
+        for (Map.Entry<String, long[]> strategy : strategies.entrySet()) {
+            report.append(String.format("%8d ms total %6d ms avg %4d lookups  %s%n",
+                    strategy.getValue()[1],
+                    strategy.getValue()[1] / strategy.getValue()[0],
+                    strategy.getValue()[0],
+                    strategy.getKey()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Write the report, replacing any previous one.
+     *
+     * @param file The file to write to
+     */
+    public void writeReport(File file) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                Logger.warn("Could not create directory {}", parent);
+            }
+            Files.write(file.toPath(), report().getBytes(StandardCharsets.UTF_8));
+            Logger.info("Wrote locator profile to {}", file);
+        } catch (IOException e) {
+            Logger.warn("Could not write locator profile", e);
+        }
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private LocatorStats statsOf(By by) {
+        String locator = by.toString();
+        LocatorStats locatorStats = stats.get(locator);
+        if (locatorStats == null) {
+            locatorStats = stats.computeIfAbsent(locator, key -> new LocatorStats(key, strategyOf(key)));
+        }
+        return locatorStats;
+    }
+
+    static String strategyOf(String locator) {
+        int separator = locator.indexOf(':');
+        if (!locator.startsWith("By.") || separator < 0) {
+            return "other";
+        }
+        return locator.substring("By.".length(), separator);
+    }
+}
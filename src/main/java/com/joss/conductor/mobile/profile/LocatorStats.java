@@ -0,0 +1,76 @@
+package com.joss.conductor.mobile.profile;
+
+/**
+ * The lookups recorded for one locator.
+ */
+public class LocatorStats {
+
+    private final String locator;
+    private final String strategy;
+    private int lookups;
+    private int attempts;
+    private int misses;
+    private long totalMillis;
+    private long maxMillis;
+    private String suggestion;
+
+    LocatorStats(String locator, String strategy) {
+        this.locator = locator;
+        this.strategy = strategy;
+    }
+
+    synchronized void record(long millis, int attempts, boolean found) {
+        lookups++;
+        this.attempts += attempts;
+        if (!found) {
+            misses++;
+        }
+        totalMillis += millis;
+        maxMillis = Math.max(maxMillis, millis);
+    }
+
+    synchronized void setSuggestion(String suggestion) {
+        this.suggestion = suggestion;
+    }
+
+    public String getLocator() {
+        return locator;
+    }
+
+    /**
+     * @return The locator strategy, e.g. id, xpath, className or AccessibilityId
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public synchronized int getLookups() {
+        return lookups;
+    }
+
+    /**
+     * @return The number of server lookups made, retries included
+     */
+    public synchronized int getAttempts() {
+        return attempts;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public synchronized long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * @return A faster locator matching the same element, or null if none was found
+     */
+    public synchronized String getSuggestion() {
+        return suggestion;
+    }
+}
@@ -0,0 +1,81 @@
+package com.joss.conductor.mobile.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per hub circuit breaker. After a number of consecutive failed session starts the hub is considered down and
+ * further starts fail fast until the cool down has passed, after which a single trial attempt is let through.
+ */
+public class CircuitBreaker {
+
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private int threshold;
+    private long coolDownMillis;
+    private final LongSupplier clock;
+
+    private int consecutiveFailures;
+    private long openedAt = -1;
+
+    CircuitBreaker(int threshold, long coolDownMillis, LongSupplier clock) {
+        this.threshold = threshold;
+        this.coolDownMillis = coolDownMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the breaker shared by every thread starting sessions on the given hub. A breaker that already exists
+     * takes the threshold and cool down given here, keeping its state.
+     *
+     * @param hub The hub url, or any stable name for the local server
+     * @param threshold The number of consecutive failures that opens the breaker, 0 to disable it
+     * @param coolDownMillis How long the breaker stays open
+     * @return The breaker for the hub
+     */
+    public static CircuitBreaker forHub(String hub, int threshold, long coolDownMillis) {
+        CircuitBreaker breaker = BREAKERS.computeIfAbsent(hub,
+                key -> new CircuitBreaker(threshold, coolDownMillis, System::currentTimeMillis));
+        breaker.configure(threshold, coolDownMillis);
+        return breaker;
+    }
+
+    private synchronized void configure(int threshold, long coolDownMillis) {
+        this.threshold = threshold;
+        this.coolDownMillis = coolDownMillis;
+    }
+
+    /**
+     * @return Whether a session start may be attempted. Once the cool down has passed only the first caller gets
+     * the trial attempt, the others fail fast until it is recorded or another cool down has passed.
+     */
+    public synchronized boolean allowRequest() {
+        if (threshold <= 0 || openedAt < 0) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        if (now - openedAt < coolDownMillis) {
+            return false;
+        }
+        // half open: hand out the trial and stay open for everyone else
+        openedAt = now;
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        openedAt = -1;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (threshold > 0 && consecutiveFailures >= threshold) {
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return threshold > 0 && openedAt >= 0 && clock.getAsLong() - openedAt < coolDownMillis;
+    }
+}
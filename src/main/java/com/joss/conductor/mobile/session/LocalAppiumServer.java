@@ -0,0 +1,163 @@
+package com.joss.conductor.mobile.session;
+
+import com.joss.conductor.mobile.ConductorConfig;
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.appium.java_client.service.local.AppiumServiceBuilder;
+import io.appium.java_client.service.local.flags.GeneralServerFlag;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.service.DriverService;
+import org.pmw.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Manages the local Appium servers used when no hub is configured. One server is started per JVM (or per device
+ * when {@link ConductorConfig#isAppiumServerPerDevice()} is set) and shared by every session, instead of booting a
+ * new Node process for each test.
+ */
+public class LocalAppiumServer {
+
+    private static final String JVM_KEY = "jvm";
+
+    private static LocalAppiumServer instance;
+
+    private final Map<String, DriverService> services = new HashMap<>();
+    private final Function<ConductorConfig, DriverService> serviceFactory;
+
+    public static synchronized LocalAppiumServer getInstance() {
+        if (instance == null) {
+            instance = new LocalAppiumServer();
+            final LocalAppiumServer server = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(server::shutdown, "conductor-appium-server-shutdown"));
+        }
+        return instance;
+    }
+
+    public LocalAppiumServer() {
+        this(LocalAppiumServer::buildService);
+    }
+
+    LocalAppiumServer(Function<ConductorConfig, DriverService> serviceFactory) {
+        this.serviceFactory = serviceFactory;
+    }
+
+    /**
+     * Get the url of a running local server for the given configuration, starting or restarting it when needed.
+     *
+     * @param config The configuration of the session that needs a server
+     * @return The url to create the driver against
+     */
+    public synchronized URL getUrl(ConductorConfig config) {
+        String key = keyOf(config);
+        DriverService service = services.get(key);
+        if (service != null && !service.isRunning()) {
+            Logger.warn("Local Appium server for {} is not responding, restarting it", key);
+            stopQuietly(service);
+            services.remove(key);
+            service = null;
+        }
+
+        if (service == null) {
+            service = serviceFactory.apply(config);
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new WebDriverException("Could not start local Appium server", e);
+            }
+            services.put(key, service);
+            Logger.info("Started local Appium server for {} at {}", key, service.getUrl());
+        }
+        return service.getUrl();
+    }
+
+    /**
+     * Stop every server started by this manager.
+     */
+    public synchronized void shutdown() {
+        for (DriverService service : services.values()) {
+            stopQuietly(service);
+        }
+        services.clear();
+    }
+
+    static String keyOf(ConductorConfig config) {
+        if (!config.isAppiumServerPerDevice()) {
+            return JVM_KEY;
+        }
+        return config.getUdid() != null ? config.getUdid() : String.valueOf(config.getDeviceName());
+    }
+
+    private static DriverService buildService(ConductorConfig config) {
+        AppiumServiceBuilder builder = new AppiumServiceBuilder()
+                .usingAnyFreePort()
+                .withArgument(GeneralServerFlag.LOG_LEVEL, config.getAppiumLogLevel());
+
+        if (config.getAppiumLogFile() != null) {
+            String logFile = config.getAppiumLogFile();
+            if (config.isAppiumServerPerDevice()) {
+                logFile = logFile + "." + keyOf(config);
+            }
+            builder.withLogFile(rotate(new File(logFile), config.getAppiumLogFileCount()));
+        }
+
+        AppiumDriverLocalService service = AppiumDriverLocalService.buildService(builder);
+        if (config.getAppiumLogFile() != null) {
+            // the log file replaces the server output on stdout
+            service.clearOutPutStreams();
+        }
+        return service;
+    }
+
+    /**
+     * Shift the existing log files so the new server starts with an empty log. log becomes log.1, log.1 becomes
+     * log.2 and so on, keeping at most {@code count} old files.
+     *
+     * @param logFile The log file the server will write to
+     * @param count The number of old log files to keep
+     * @return The log file
+     */
+    static File rotate(File logFile, int count) {
+        File parent = logFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            Logger.warn("Could not create Appium log directory {}", parent);
+        }
+        if (!logFile.exists()) {
+            return logFile;
+        }
+
+        if (count <= 0) {
+            if (!logFile.delete()) {
+                Logger.warn("Could not delete old Appium log {}", logFile);
+            }
+            return logFile;
+        }
+
+        File oldest = new File(logFile.getPath() + "." + count);
+        if (oldest.exists() && !oldest.delete()) {
+            Logger.warn("Could not delete old Appium log {}", oldest);
+        }
+        for (int i = count - 1; i >= 1; i--) {
+            File from = new File(logFile.getPath() + "." + i);
+            if (from.exists() && !from.renameTo(new File(logFile.getPath() + "." + (i + 1)))) {
+                Logger.warn("Could not rotate Appium log {}", from);
+            }
+        }
+        if (!logFile.renameTo(new File(logFile.getPath() + ".1"))) {
+            Logger.warn("Could not rotate Appium log {}", logFile);
+        }
+        return logFile;
+    }
+
+    private static void stopQuietly(DriverService service) {
+        try {
+            service.stop();
+        } catch (RuntimeException exception) {
+            Logger.warn("Exception occurred while stopping local Appium server", exception);
+        }
+    }
+}
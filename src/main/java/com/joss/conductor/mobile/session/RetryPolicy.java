@@ -0,0 +1,80 @@
+package com.joss.conductor.mobile.session;
+
+import com.joss.conductor.mobile.ConductorConfig;
+
+import java.util.Random;
+
+/**
+ * Exponential backoff with jitter and an overall time budget, used between attempts to start an Appium session.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final int multiplier;
+    private final int jitterPercent;
+    private final long budgetMillis;
+    private final Random random;
+
+    public RetryPolicy(int maxAttempts, long initialDelayMillis, long maxDelayMillis, int multiplier,
+                       int jitterPercent, long budgetMillis) {
+        this(maxAttempts, initialDelayMillis, maxDelayMillis, multiplier, jitterPercent, budgetMillis, new Random());
+    }
+
+    RetryPolicy(int maxAttempts, long initialDelayMillis, long maxDelayMillis, int multiplier,
+                int jitterPercent, long budgetMillis, Random random) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.multiplier = Math.max(1, multiplier);
+        this.jitterPercent = Math.max(0, Math.min(100, jitterPercent));
+        this.budgetMillis = budgetMillis;
+        this.random = random;
+    }
+
+    public static RetryPolicy from(ConductorConfig config) {
+        return new RetryPolicy(config.getStartSessionRetries(),
+                config.getStartSessionBackoffMillis(),
+                config.getStartSessionMaxBackoffMillis(),
+                config.getStartSessionBackoffMultiplier(),
+                config.getStartSessionJitterPercent(),
+                config.getStartSessionTimeBudgetSeconds() * 1000L);
+    }
+
+    /**
+     * Get the delay to wait after a failed attempt.
+     *
+     * @param failedAttempts The number of attempts made so far, starting at 1
+     * @return The delay in milliseconds, randomized by the jitter percentage
+     */
+    public long delayAfter(int failedAttempts) {
+        long delay = initialDelayMillis;
+        for (int i = 1; i < failedAttempts && delay < maxDelayMillis; i++) {
+            delay *= multiplier;
+        }
+        delay = Math.min(delay, maxDelayMillis);
+
+        if (jitterPercent > 0 && delay > 0) {
+            // spread the delay by +/- jitterPercent so parallel threads do not retry at the same moment
+            long spread = delay * jitterPercent / 100;
+            delay = delay - spread + (long) (random.nextDouble() * 2 * spread);
+        }
+        return Math.max(0, delay);
+    }
+
+    /**
+     * Check whether another attempt should be made.
+     *
+     * @param failedAttempts The number of attempts made so far
+     * @param elapsedMillis The time spent since the first attempt started
+     * @param nextDelayMillis The delay that would be waited before the next attempt
+     * @return true if another attempt fits in the attempt limit and the time budget
+     */
+    public boolean shouldRetry(int failedAttempts, long elapsedMillis, long nextDelayMillis) {
+        if (failedAttempts >= maxAttempts) {
+            return false;
+        }
+        return budgetMillis <= 0 || elapsedMillis + nextDelayMillis < budgetMillis;
+    }
+}
@@ -0,0 +1,301 @@
+package com.joss.conductor.mobile.session;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.remote.MobileCapabilityType;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriverException;
+import org.pmw.tinylog.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps Appium sessions alive between tests so they can be handed back to the next test that asks for the same
+ * capabilities. A session is only really quit when the capabilities requested for its device change or when the
+ * pool shuts down.
+ * <p>
+ * The pool can also start the next session in the background while the current test is still running, see
+ * {@link #prewarm(Capabilities, Callable)}.
+ */
+public class SessionPool {
+
+    /**
+     * How long {@link #acquire(Capabilities, String)} waits for a prewarmed session before starting a new one instead
+     */
+    static final long CLAIM_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * How long the shutdown hook waits for sessions still being prewarmed, so they can be quit before the JVM exits
+     */
+    static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static SessionPool instance;
+
+    private final Map<Map<String, Object>, Deque<AppiumDriver>> idle = new HashMap<>();
+    private final Map<Map<String, Object>, CompletableFuture<AppiumDriver>> prewarmed = new HashMap<>();
+    private ExecutorService prewarmExecutor;
+
+    public static synchronized SessionPool getInstance() {
+        if (instance == null) {
+            instance = new SessionPool();
+            final SessionPool pool = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> pool.shutdown(SHUTDOWN_TIMEOUT_MILLIS),
+                    "conductor-session-pool-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Claim an idle or prewarmed session, waiting up to {@link #CLAIM_TIMEOUT_MILLIS} for a prewarmed one.
+     *
+     * @see #acquire(Capabilities, String, long)
+     */
+    public AppiumDriver acquire(Capabilities capabilities, String appId) {
+        return acquire(capabilities, appId, CLAIM_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Claim an idle session that was started with the given capabilities. The app under test is terminated and
+     * activated again so the test starts from a clean state without paying for a new session. If there is no idle
+     * session but one is being prewarmed, this waits for it to be ready.
+     *
+     * @param capabilities The capabilities the session has to match
+     * @param appId The android package or iOS bundle id used to reset the app, may be null
+     * @param claimTimeoutMillis How long to wait for a prewarmed session before giving up on it
+     * @return A warm driver, or null if there is none and a new session has to be started
+     */
+    public AppiumDriver acquire(Capabilities capabilities, String appId, long claimTimeoutMillis) {
+        Map<String, Object> key = keyOf(capabilities);
+        CompletableFuture<AppiumDriver> next;
+        synchronized (this) {
+            evictOtherCapabilitiesForDevice(key);
+
+            Deque<AppiumDriver> drivers = idle.get(key);
+            while (drivers != null && !drivers.isEmpty()) {
+                AppiumDriver driver = drivers.pop();
+                try {
+                    if (driver.getSessionId() == null) {
+                        continue;
+                    }
+                    resetApp(driver, appId);
+                    Logger.info("Reusing Appium session {}", driver.getSessionId());
+                    return driver;
+                } catch (WebDriverException exception) {
+                    Logger.warn("Discarding pooled Appium session that could not be reset", exception);
+                    quitQuietly(driver);
+                }
+            }
+            next = prewarmed.remove(key);
+        }
+
+        // wait outside of the lock, other threads may release sessions in the meantime
+        return next == null ? null : claim(next, claimTimeoutMillis);
+    }
+
+    /**
+     * Start a session for the given capabilities in the background so the next {@link #acquire} can claim it
+     * instead of waiting for a new session. Only one session is prewarmed per set of capabilities.
+     *
+     * @param capabilities The capabilities the session will be started with
+     * @param factory Creates the session
+     * @return The session being started, or the one already being prewarmed for these capabilities
+     */
+    public synchronized Future<AppiumDriver> prewarm(Capabilities capabilities, Callable<AppiumDriver> factory) {
+        Map<String, Object> key = keyOf(capabilities);
+        if (prewarmed.containsKey(key)) {
+            return prewarmed.get(key);
+        }
+        if (prewarmExecutor == null) {
+            prewarmExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "conductor-session-prewarm");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        CompletableFuture<AppiumDriver> next = CompletableFuture.supplyAsync(() -> {
+            try {
+                return factory.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, prewarmExecutor);
+        prewarmed.put(key, next);
+        return next;
+    }
+
+    /**
+     * Give a session back to the pool so the next test with the same capabilities can reuse it.
+     *
+     * @param capabilities The capabilities the session was started with
+     * @param driver The driver to keep alive
+     */
+    public synchronized void release(Capabilities capabilities, AppiumDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (driver.getSessionId() == null) {
+            quitQuietly(driver);
+            return;
+        }
+        Map<String, Object> key = keyOf(capabilities);
+        Deque<AppiumDriver> drivers = idle.get(key);
+        if (drivers == null) {
+            drivers = new ArrayDeque<>();
+            idle.put(key, drivers);
+        }
+        drivers.push(driver);
+    }
+
+    /**
+     * Quit every idle and prewarmed session held by the pool. Sessions still being started are quit when they
+     * arrive, without waiting for them.
+     */
+    public void shutdown() {
+        shutdown(0);
+    }
+
+    /**
+     * Quit every idle and prewarmed session held by the pool, and wait for sessions still being started so they are
+     * quit too. When they take longer than the timeout, the threads starting them are interrupted.
+     *
+     * @param timeoutMillis How long to wait for sessions still being started, 0 to not wait
+     */
+    public void shutdown(long timeoutMillis) {
+        ExecutorService executor;
+        synchronized (this) {
+            for (Deque<AppiumDriver> drivers : idle.values()) {
+                for (AppiumDriver driver : drivers) {
+                    quitQuietly(driver);
+                }
+            }
+            idle.clear();
+
+            for (CompletableFuture<AppiumDriver> next : prewarmed.values()) {
+                discard(next);
+            }
+            prewarmed.clear();
+            executor = prewarmExecutor;
+            prewarmExecutor = null;
+        }
+        if (executor == null) {
+            return;
+        }
+
+        // let sessions being started finish, they are quit as soon as they arrive
+        executor.shutdown();
+        if (timeoutMillis <= 0) {
+            return;
+        }
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                Logger.warn("Prewarmed Appium session was not ready after {} ms, abandoning it", timeoutMillis);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (Deque<AppiumDriver> drivers : idle.values()) {
+            size += drivers.size();
+        }
+        return size;
+    }
+
+    private void evictOtherCapabilitiesForDevice(Map<String, Object> key) {
+        Iterator<Map.Entry<Map<String, Object>, Deque<AppiumDriver>>> iterator = idle.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Map<String, Object>, Deque<AppiumDriver>> entry = iterator.next();
+            if (!entry.getKey().equals(key) && sameDevice(entry.getKey(), key)) {
+                Logger.info("Capabilities changed, quitting {} idle Appium session(s)", entry.getValue().size());
+                for (AppiumDriver driver : entry.getValue()) {
+                    quitQuietly(driver);
+                }
+                iterator.remove();
+            }
+        }
+
+        Iterator<Map.Entry<Map<String, Object>, CompletableFuture<AppiumDriver>>> pending =
+                prewarmed.entrySet().iterator();
+        while (pending.hasNext()) {
+            Map.Entry<Map<String, Object>, CompletableFuture<AppiumDriver>> entry = pending.next();
+            if (!entry.getKey().equals(key) && sameDevice(entry.getKey(), key)) {
+                discard(entry.getValue());
+                pending.remove();
+            }
+        }
+    }
+
+    private static AppiumDriver claim(CompletableFuture<AppiumDriver> next, long claimTimeoutMillis) {
+        try {
+            AppiumDriver driver = next.get(claimTimeoutMillis, TimeUnit.MILLISECONDS);
+            Logger.info("Claimed prewarmed Appium session {}", driver.getSessionId());
+            return driver;
+        } catch (ExecutionException e) {
+            Logger.warn("Prewarmed Appium session could not be started", e.getCause());
+        } catch (TimeoutException e) {
+            Logger.warn("Prewarmed Appium session was not ready after {} ms, starting a new one",
+                    claimTimeoutMillis);
+            discard(next);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discard(next);
+        }
+        return null;
+    }
+
+    /**
+     * Quit a prewarmed session as soon as it has started. Cancelling would not stop the new session request that is
+     * already on its way, and the session it creates would hold the device.
+     */
+    private static void discard(CompletableFuture<AppiumDriver> next) {
+        next.thenAccept(SessionPool::quitQuietly);
+    }
+
+    private static boolean sameDevice(Map<String, Object> first, Map<String, Object> second) {
+        Object firstUdid = first.get(MobileCapabilityType.UDID);
+        Object secondUdid = second.get(MobileCapabilityType.UDID);
+        if (firstUdid != null || secondUdid != null) {
+            return Objects.equals(firstUdid, secondUdid);
+        }
+        return Objects.equals(first.get(MobileCapabilityType.DEVICE_NAME), second.get(MobileCapabilityType.DEVICE_NAME));
+    }
+
+    private static void resetApp(AppiumDriver driver, String appId) {
+        if (appId == null || appId.isEmpty()) {
+            driver.closeApp();
+            driver.launchApp();
+        } else {
+            driver.terminateApp(appId);
+            driver.activateApp(appId);
+        }
+    }
+
+    private static void quitQuietly(AppiumDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException exception) {
+            Logger.warn("WebDriverException occurred while quitting pooled session", exception);
+        }
+    }
+
+    private static Map<String, Object> keyOf(Capabilities capabilities) {
+        return new HashMap<>(capabilities.asMap());
+    }
+}
@@ -0,0 +1,34 @@
+package com.joss.conductor.mobile.session;
+
+/**
+ * How many attempts it took to start an Appium session and how long they lasted.
+ */
+public class SessionStartStats {
+
+    private final int attempts;
+    private final long elapsedMillis;
+    private final boolean started;
+
+    public SessionStartStats(int attempts, long elapsedMillis, boolean started) {
+        this.attempts = attempts;
+        this.elapsedMillis = elapsedMillis;
+        this.started = started;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s after %d attempt(s) in %dms", started ? "Started" : "Failed", attempts, elapsedMillis);
+    }
+}
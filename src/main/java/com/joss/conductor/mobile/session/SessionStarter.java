@@ -0,0 +1,144 @@
+package com.joss.conductor.mobile.session;
+
+import com.joss.conductor.mobile.ConductorConfig;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.pmw.tinylog.Logger;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Starts an Appium session, retrying failed attempts according to a {@link RetryPolicy} and failing fast while the
+ * {@link CircuitBreaker} of the hub is open.
+ */
+public class SessionStarter {
+
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final String hub;
+    private final RetryPolicy policy;
+    private final CircuitBreaker breaker;
+    private final Sleeper sleeper;
+    private final LongSupplier clock;
+
+    private SessionStartStats stats;
+
+    /**
+     * @param config The configuration of the session, local sessions share a breaker per local server
+     */
+    public SessionStarter(ConductorConfig config) {
+        this(hubOf(config), config);
+    }
+
+    private SessionStarter(String hub, ConductorConfig config) {
+        this(hub,
+                RetryPolicy.from(config),
+                CircuitBreaker.forHub(hub, config.getCircuitBreakerThreshold(),
+                        config.getCircuitBreakerCoolDownSeconds() * 1000L),
+                Thread::sleep,
+                System::currentTimeMillis);
+    }
+
+    SessionStarter(String hub, RetryPolicy policy, CircuitBreaker breaker, Sleeper sleeper, LongSupplier clock) {
+        this.hub = hub;
+        this.policy = policy;
+        this.breaker = breaker;
+        this.sleeper = sleeper;
+        this.clock = clock;
+    }
+
+    /**
+     * Start a session.
+     *
+     * @param factory Makes one attempt at creating the driver
+     * @return The started driver
+     * @throws WebDriverException if the session could not be started within the retry policy, or the hub is known
+     *                            to be down
+     */
+    public AppiumDriver start(Supplier<AppiumDriver> factory) {
+        long started = clock.getAsLong();
+        int attempts = 0;
+        WebDriverException lastException = null;
+
+        while (true) {
+            if (!breaker.allowRequest()) {
+                stats = new SessionStartStats(attempts, clock.getAsLong() - started, false);
+                throw new WebDriverException("Could not start Appium Session, circuit breaker is open for " + hub,
+                        lastException);
+            }
+
+            attempts++;
+            try {
+                AppiumDriver driver = factory.get();
+                breaker.recordSuccess();
+                stats = new SessionStartStats(attempts, clock.getAsLong() - started, true);
+                Logger.info("Appium session: {}", stats);
+                return driver;
+            } catch (WebDriverException exception) {
+                if (isTransportFailure(exception)) {
+                    breaker.recordFailure();
+                } else {
+                    // the hub answered, e.g. rejected the capabilities of this test, so it is up
+                    breaker.recordSuccess();
+                }
+                lastException = exception;
+                Logger.warn("Received an exception while trying to start Appium session", exception);
+            }
+
+            long delay = policy.delayAfter(attempts);
+            if (!policy.shouldRetry(attempts, clock.getAsLong() - started, delay)) {
+                break;
+            }
+            try {
+                sleeper.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        stats = new SessionStartStats(attempts, clock.getAsLong() - started, false);
+        Logger.error("Appium session: {}", stats);
+        throw new WebDriverException("Could not start Appium Session", lastException);
+    }
+
+    /**
+     * @return The url of the hub, or the local server the session would be started on
+     */
+    static String hubOf(ConductorConfig config) {
+        URL hub = config.getHub();
+        return hub == null ? "local:" + LocalAppiumServer.keyOf(config) : hub.toString();
+    }
+
+    /**
+     * @return Whether the hub could not be reached at all, as opposed to answering with an error
+     */
+    static boolean isTransportFailure(WebDriverException exception) {
+        if (exception instanceof SessionNotCreatedException) {
+            return false;
+        }
+        if (exception instanceof UnreachableBrowserException) {
+            return true;
+        }
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The attempts and time spent by the last call to {@link #start(Supplier)}
+     */
+    public SessionStartStats getStats() {
+        return stats;
+    }
+}
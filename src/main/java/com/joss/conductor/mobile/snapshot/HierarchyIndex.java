@@ -0,0 +1,74 @@
+package com.joss.conductor.mobile.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash indexes from resource id, accessibility name, text and class to the nodes of a snapshot.
+ */
+class HierarchyIndex {
+
+    private final Map<String, List<SnapshotNode>> byResourceId = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byName = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byText = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byClassName = new HashMap<>();
+
+    HierarchyIndex(List<SnapshotNode> nodes) {
+        for (SnapshotNode node : nodes) {
+            String resourceId = node.getResourceId();
+            add(byResourceId, resourceId, node);
+            int separator = resourceId.indexOf(":id/");
+            if (separator >= 0 && matchesPackage(resourceId.substring(0, separator), node.getPackageName())) {
+                // the server completes an id without a package with the package of the app, e.g. not android:id/
+                add(byResourceId, resourceId.substring(separator + ":id/".length()), node);
+            }
+            add(byName, node.getName(), node);
+            add(byText, node.getText(), node);
+            add(byClassName, node.getClassName(), node);
+        }
+    }
+
+    List<SnapshotNode> withResourceId(String resourceId) {
+        return get(byResourceId, resourceId);
+    }
+
+    List<SnapshotNode> withName(String name) {
+        return get(byName, name);
+    }
+
+    List<SnapshotNode> withText(String text) {
+        return get(byText, text);
+    }
+
+    List<SnapshotNode> withClassName(String className) {
+        return get(byClassName, className);
+    }
+
+    /**
+     * @return Whether an id of the given package is matched without its package, any package is when the page
+     * source does not tell the package of the app
+     */
+    private static boolean matchesPackage(String idPackage, String appPackage) {
+        return appPackage.isEmpty() || idPackage.equals(appPackage);
+    }
+
+    private static void add(Map<String, List<SnapshotNode>> index, String key, SnapshotNode node) {
+        if (key.isEmpty()) {
+            return;
+        }
+        List<SnapshotNode> nodes = index.get(key);
+        if (nodes == null) {
+            nodes = new ArrayList<>(1);
+            index.put(key, nodes);
+        }
+        nodes.add(node);
+    }
+
+    private static List<SnapshotNode> get(Map<String, List<SnapshotNode>> index, String key) {
+        List<SnapshotNode> nodes = index.get(key);
+        return nodes == null ? Collections.<SnapshotNode>emptyList() : Collections.unmodifiableList(nodes);
+    }
+}
@@ -0,0 +1,222 @@
+package com.joss.conductor.mobile.snapshot;
+
+import com.joss.conductor.mobile.Platform;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.pmw.tinylog.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * A parsed copy of the page source, used to answer locator queries on the client instead of asking the server for
+ * every "is it on screen" check. Ids, names, texts and classes are looked up through hash indexes built on first
+ * use. Interacting with an element still needs a handle from the server.
+ */
+public class HierarchySnapshot {
+
+    /**
+     * XPath objects are not thread safe, and looking up the factory is a service lookup, so each thread keeps one
+     */
+    private static final ThreadLocal<XPath> XPATH =
+            ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+    private final String source;
+    private final Platform platform;
+    private final Document document;
+    private Map<Element, SnapshotNode> nodes;
+    private HierarchyIndex index;
+    private Integer fingerprint;
+
+    HierarchySnapshot(String source, Platform platform, Document document) {
+        this.source = source;
+        this.platform = platform;
+        this.document = document;
+    }
+
+    /**
+     * @param source The page source of the screen
+     * @param platform The platform the page source comes from, locators are matched like the platform driver does
+     * @return The snapshot, or null if the page source could not be parsed
+     */
+    public static HierarchySnapshot parse(String source, Platform platform) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(source)));
+            return new HierarchySnapshot(source, platform, document);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            Logger.warn("Could not parse page source into a snapshot", e);
+            return null;
+        }
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Count the elements matching a locator.
+     *
+     * @param by The locator
+     * @return The number of matching elements, or empty if the locator cannot be evaluated on the snapshot
+     * @see #find(By)
+     */
+    public OptionalInt count(By by) {
+        Optional<List<SnapshotNode>> found = find(by);
+        return found.isPresent() ? OptionalInt.of(found.get().size()) : OptionalInt.empty();
+    }
+
+    /**
+     * Find the elements matching a locator. By.id, By.className, By.xpath, MobileBy.AccessibilityId and, on
+     * iOS, By.name are answered locally; anything else has to go to the server.
+     *
+     * @param by The locator
+     * @return The matching elements in document order, or empty if the locator cannot be evaluated on the snapshot
+     */
+    public Optional<List<SnapshotNode>> find(By by) {
+        Locator locator = Locator.of(by);
+        if (locator == null) {
+            return Optional.empty();
+        }
+        switch (locator.strategy) {
+            case "id":
+                return Optional.of(platform == Platform.IOS
+                        ? getIndex().withName(locator.value)
+                        : getIndex().withResourceId(locator.value));
+            case "name":
+                if (platform == Platform.IOS) {
+                    return Optional.of(getIndex().withName(locator.value));
+                }
+                return Optional.empty();
+            case "AccessibilityId":
+                return Optional.of(getIndex().withName(locator.value));
+            case "className":
+                return Optional.of(getIndex().withClassName(locator.value));
+            case "xpath":
+                return findXPath(locator.value);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * @param text The exact visible text
+     * @return The elements showing the text
+     * @see SnapshotNode#getText()
+     */
+    public List<SnapshotNode> withText(String text) {
+        return getIndex().withText(text);
+    }
+
+    /**
+     * @return A hash of the class, id, name, text and bounds of every element, equal for two snapshots of a screen
+     * that has not changed, e.g. a list that did not move after a swipe
+     */
+    public int fingerprint() {
+        if (fingerprint == null) {
+            int hash = 1;
+            for (SnapshotNode node : getNodes().values()) {
+                hash = 31 * hash + Objects.hash(node.getClassName(), node.getResourceId(), node.getName(),
+                        node.getText());
+                Rectangle bounds = node.getBounds();
+                if (bounds != null) {
+                    // Rectangle.hashCode() ignores the coordinates
+                    hash = 31 * hash + Objects.hash(bounds.getX(), bounds.getY(), bounds.getWidth(),
+                            bounds.getHeight());
+                }
+            }
+            fingerprint = hash;
+        }
+        return fingerprint;
+    }
+
+    private Optional<List<SnapshotNode>> findXPath(String expression) {
+        NodeList matches;
+        try {
+            matches = (NodeList) XPATH.get().evaluate(expression, document, XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            Logger.debug("Could not evaluate {} on the snapshot", expression);
+            return Optional.empty();
+        }
+
+        Map<Element, SnapshotNode> all = getNodes();
+        List<SnapshotNode> found = new ArrayList<>(matches.getLength());
+        for (int i = 0; i < matches.getLength(); i++) {
+            SnapshotNode node = all.get(matches.item(i));
+            if (node != null) {
+                found.add(node);
+            }
+        }
+        return Optional.of(found);
+    }
+
+    private HierarchyIndex getIndex() {
+        if (index == null) {
+            index = new HierarchyIndex(new ArrayList<>(getNodes().values()));
+        }
+        return index;
+    }
+
+    private Map<Element, SnapshotNode> getNodes() {
+        if (nodes == null) {
+            // insertion ordered so the indexes list nodes in document order
+            Map<Element, SnapshotNode> flattened = new LinkedHashMap<>();
+            flatten(document.getDocumentElement(), flattened);
+            nodes = flattened;
+        }
+        return nodes;
+    }
+
+    private void flatten(Element element, Map<Element, SnapshotNode> into) {
+        into.put(element, SnapshotNode.of(element, platform));
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                flatten((Element) child, into);
+            }
+        }
+    }
+
+    /**
+     * The strategy and value of a locator, read from its description since {@link By} does not expose them
+     */
+    static class Locator {
+        final String strategy;
+        final String value;
+
+        Locator(String strategy, String value) {
+            this.strategy = strategy;
+            this.value = value;
+        }
+
+        static Locator of(By by) {
+            String description = by.toString();
+            int separator = description.indexOf(": ");
+            if (!description.startsWith("By.") || separator < 0) {
+                return null;
+            }
+            return new Locator(description.substring("By.".length(), separator),
+                    description.substring(separator + 2));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.joss.conductor.mobile.snapshot;
+
+import org.pmw.tinylog.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Looks for text in the attributes a user can actually see, streaming through the page source instead of building
+ * a document or matching the raw markup.
+ */
+public class PageSourceTextSearch {
+
+    /**
+     * The attributes holding visible text, on Android (text, content-desc) and iOS (label, value)
+     */
+    static final Set<String> TEXT_ATTRIBUTES = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("text", "label", "value", "content-desc")));
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    /**
+     * @param pageSource The page source of the screen
+     * @param text The text to look for
+     * @return true if a text attribute of any element contains the text. Stops at the first match
+     */
+    public static boolean containsText(String pageSource, String text) {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(new StringReader(pageSource));
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    if (TEXT_ATTRIBUTES.contains(reader.getAttributeLocalName(i))
+                            && reader.getAttributeValue(i).contains(text)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            Logger.warn("Could not parse page source, searching the raw markup instead", e);
+            return pageSource.contains(text);
+        } finally {
+            close(reader);
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            Logger.debug("Could not close page source reader", e);
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
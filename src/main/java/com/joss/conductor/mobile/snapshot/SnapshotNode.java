@@ -0,0 +1,124 @@
+package com.joss.conductor.mobile.snapshot;
+
+import com.joss.conductor.mobile.Platform;
+import org.openqa.selenium.Rectangle;
+import org.w3c.dom.Element;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The attributes of one element of a {@link HierarchySnapshot}, read once so queries do not have to walk the DOM.
+ */
+public class SnapshotNode {
+
+    private static final Pattern ANDROID_BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+
+    private final String className;
+    private final String resourceId;
+    private final String packageName;
+    private final String name;
+    private final String text;
+    private final Rectangle bounds;
+
+    SnapshotNode(String className, String resourceId, String packageName, String name, String text,
+                 Rectangle bounds) {
+        this.className = className;
+        this.resourceId = resourceId;
+        this.packageName = packageName;
+        this.name = name;
+        this.text = text;
+        this.bounds = bounds;
+    }
+
+    static SnapshotNode of(Element element, Platform platform) {
+        if (platform == Platform.IOS) {
+            // WebDriverAgent's getText reads the value first, e.g. what was typed into a text field
+            String value = element.getAttribute("value");
+            return new SnapshotNode(element.getTagName(),
+                    "",
+                    "",
+                    element.getAttribute("name"),
+                    value.isEmpty() ? element.getAttribute("label") : value,
+                    iosBounds(element));
+        }
+        return new SnapshotNode(element.getTagName(),
+                element.getAttribute("resource-id"),
+                element.getAttribute("package"),
+                element.getAttribute("content-desc"),
+                element.getAttribute("text"),
+                androidBounds(element.getAttribute("bounds")));
+    }
+
+    /**
+     * @return The class of the element, e.g. android.widget.TextView or XCUIElementTypeButton
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return The resource id on Android, empty on iOS
+     */
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * @return The package of the app the element belongs to on Android, empty on iOS or when the page source does
+     * not have it
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return The accessibility name, content-desc on Android and name on iOS
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The visible text, text on Android and value (or label when there is no value) on iOS, as
+     * returned by WebElement.getText()
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return The position and size of the element, or null if the page source does not have them
+     */
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    private static Rectangle androidBounds(String bounds) {
+        Matcher matcher = ANDROID_BOUNDS.matcher(bounds);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int left = Integer.parseInt(matcher.group(1));
+        int top = Integer.parseInt(matcher.group(2));
+        int right = Integer.parseInt(matcher.group(3));
+        int bottom = Integer.parseInt(matcher.group(4));
+        return new Rectangle(left, top, bottom - top, right - left);
+    }
+
+    private static Rectangle iosBounds(Element element) {
+        try {
+            return new Rectangle(Integer.parseInt(element.getAttribute("x")),
+                    Integer.parseInt(element.getAttribute("y")),
+                    Integer.parseInt(element.getAttribute("height")),
+                    Integer.parseInt(element.getAttribute("width")));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return className + "{id=" + resourceId + ", name=" + name + ", text=" + text + ", bounds=" + bounds + "}";
+    }
+}
@@ -0,0 +1,81 @@
+package com.joss.conductor.mobile.util;
+
+import org.assertj.core.api.Assertions;
+
+import java.util.function.Supplier;
+
+/**
+ * Repeats a lookup until it succeeds or a deadline passes, sleeping between lookups as told by a
+ * {@link PollingStrategy}.
+ */
+public class DeadlineWait {
+
+    /**
+     * The outcome of a single lookup.
+     */
+    public enum Outcome {
+        /** The lookup succeeded, stop waiting */
+        DONE,
+        /** Something was found but is not ready yet, it is good enough once the deadline passes */
+        PARTIAL,
+        /** Nothing was found */
+        MISSING
+    }
+
+    private final long timeoutMillis;
+    private final int minAttempts;
+    private final PollingStrategy strategy;
+
+    /**
+     * @param timeoutMillis How long to keep looking
+     * @param minAttempts The minimum number of lookups made before giving up, even if the timeout is shorter
+     * @param strategy The delays between lookups
+     */
+    public DeadlineWait(long timeoutMillis, int minAttempts, PollingStrategy strategy) {
+        this.timeoutMillis = timeoutMillis;
+        this.minAttempts = minAttempts;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Run the lookup until it is {@link Outcome#DONE}, or until the deadline has passed and it is
+     * {@link Outcome#PARTIAL} or has been tried {@code minAttempts} times.
+     *
+     * @param lookup A single lookup
+     * @return The number of lookups made
+     */
+    public int until(Supplier<Outcome> lookup) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            Outcome outcome = lookup.get();
+            if (outcome == Outcome.DONE) {
+                return attempt;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0 && (outcome == Outcome.PARTIAL || attempt >= minAttempts)) {
+                return attempt;
+            }
+
+            long delay = strategy.delayAfter(attempt);
+            if (remaining > 0) {
+                delay = Math.min(delay, remaining);
+            }
+            sleep(delay);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Assertions.fail(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.joss.conductor.mobile.util;
+
+import com.joss.conductor.mobile.ConductorConfig;
+
+/**
+ * Polls quickly at first and backs off exponentially up to a cap, so elements that show up right away are found
+ * within milliseconds while slow screens are not hammered with lookups. A multiplier of 1 gives a fixed interval.
+ */
+public class ExponentialPollingStrategy implements PollingStrategy {
+
+    private final long initialMillis;
+    private final long maxMillis;
+    private final int multiplier;
+
+    public ExponentialPollingStrategy(long initialMillis, long maxMillis, int multiplier) {
+        this.initialMillis = initialMillis;
+        this.maxMillis = maxMillis;
+        this.multiplier = Math.max(1, multiplier);
+    }
+
+    public static ExponentialPollingStrategy from(ConductorConfig config) {
+        return new ExponentialPollingStrategy(config.getPollInitialMillis(),
+                config.getPollMaxMillis(),
+                config.getPollBackoffMultiplier());
+    }
+
+    @Override
+    public long delayAfter(int attempt) {
+        long delay = initialMillis;
+        for (int i = 1; i < attempt && delay < maxMillis; i++) {
+            delay *= multiplier;
+        }
+        return Math.min(delay, maxMillis);
+    }
+}
@@ -1,8 +1,19 @@
 package com.joss.conductor.mobile.util;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.joss.conductor.mobile.ConductorConfig;
+import com.joss.conductor.mobile.IosLocatorStrategy;
+import com.joss.conductor.mobile.Platform;
+import io.appium.java_client.MobileBy;
 import org.openqa.selenium.By;
-import org.pmw.tinylog.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * Created on 9/2/16.
@@ -11,18 +22,76 @@ public class PageUtil {
 
     private static final String ANDROID_APP_PACKAGE_NAME_ID = "%s:id/%s";
     private static final String IOS_XPATH_ACCESSIBILITY_IDENTIFIER = "//*[@name='%s']";
+    private static final String IOS_PREDICATE_NAME = "name == '%s'";
+    private static final String IOS_CLASS_CHAIN_NAME = "**/*[`name == \"%s\"`]";
+
+    /**
+     * The most locators kept per app package or iOS locator strategy, so data-driven ids do not grow the cache for
+     * the life of the JVM
+     */
+    public static final int MAX_LOCATORS = 1024;
+
+    private static final ConcurrentMap<String, LoadingCache<String, By>> ANDROID_LOCATORS = new ConcurrentHashMap<>();
+    private static final Map<IosLocatorStrategy, LoadingCache<String, By>> IOS_LOCATORS =
+            new EnumMap<>(IosLocatorStrategy.class);
+
+    static {
+        for (IosLocatorStrategy strategy : IosLocatorStrategy.values()) {
+            IOS_LOCATORS.put(strategy, locators(identifier -> buildIosBy(strategy, identifier)));
+        }
+    }
 
+    /**
+     * Build the locator for an id of the app under test. Locators are immutable, so they are built once per
+     * platform, package, strategy and id and shared afterwards, for the {@link #MAX_LOCATORS} most recently used.
+     * A hit allocates nothing and does not lock.
+     *
+     * @throws IllegalArgumentException if the platform is not Android or iOS
+     */
     public static By buildBy(ConductorConfig config, String identifier) {
-        switch (config.getPlatformName()) {
+        Platform platform = config.getPlatformName();
+        switch (platform == null ? Platform.NONE : platform) {
             case ANDROID:
-                return By.id(String.format(ANDROID_APP_PACKAGE_NAME_ID, config.getAppPackageName(), identifier));
+                // formatted as "null" when there is no package, as before
+                String packageName = String.valueOf(config.getAppPackageName());
+                LoadingCache<String, By> android = ANDROID_LOCATORS.get(packageName);
+                if (android == null) {
+                    android = ANDROID_LOCATORS.computeIfAbsent(packageName, PageUtil::androidLocators);
+                }
+                return android.getUnchecked(identifier);
             case IOS:
-                return By.xpath(String.format(IOS_XPATH_ACCESSIBILITY_IDENTIFIER, identifier));
+                IosLocatorStrategy strategy = config.getIosLocatorStrategy();
+                return IOS_LOCATORS.get(strategy == null ? IosLocatorStrategy.XPATH : strategy)
+                        .getUnchecked(identifier);
+            default:
+                throw new IllegalArgumentException("Unknown platform: " + platform);
+        }
+    }
+
+    private static LoadingCache<String, By> androidLocators(String packageName) {
+        return locators(identifier -> By.id(String.format(ANDROID_APP_PACKAGE_NAME_ID, packageName, identifier)));
+    }
+
+    private static LoadingCache<String, By> locators(Function<String, By> build) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAX_LOCATORS)
+                .build(CacheLoader.from(build::apply));
+    }
+
+    private static By buildIosBy(IosLocatorStrategy strategy, String identifier) {
+        switch (strategy) {
+            case ACCESSIBILITY_ID:
+                return MobileBy.AccessibilityId(identifier);
+            case PREDICATE:
+                return MobileBy.iOSNsPredicateString(String.format(IOS_PREDICATE_NAME,
+                        identifier.replace("\\", "\\\\").replace("'", "\\'")));
+            case CLASS_CHAIN:
+                return MobileBy.iOSClassChain(String.format(IOS_CLASS_CHAIN_NAME,
+                        identifier.replace("\\", "\\\\").replace("\"", "\\\"")));
+            case XPATH:
             default:
-                Logger.error("Unknown platform: " + config.getPlatformName());
-                System.exit(1);
+                return By.xpath(String.format(IOS_XPATH_ACCESSIBILITY_IDENTIFIER, identifier));
         }
-        return null;
     }
 
 }
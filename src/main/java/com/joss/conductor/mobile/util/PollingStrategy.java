@@ -0,0 +1,13 @@
+package com.joss.conductor.mobile.util;
+
+/**
+ * Decides how long to sleep between two lookups while waiting for something to appear.
+ */
+public interface PollingStrategy {
+
+    /**
+     * @param attempt The number of lookups made so far, starting at 1
+     * @return The delay in milliseconds before the next lookup
+     */
+    long delayAfter(int attempt);
+}
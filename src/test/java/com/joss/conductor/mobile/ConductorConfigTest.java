@@ -70,6 +70,10 @@ public class ConductorConfigTest {
                 .isEqualTo(8);
         Assertions.assertThat(config.getRetries())
                 .isEqualTo(10);
+        Assertions.assertThat(config.getIosLocatorStrategy())
+                .isEqualTo(IosLocatorStrategy.ACCESSIBILITY_ID);
+        Assertions.assertThat(config.getSwipeProfile())
+                .isEqualTo(SwipeProfile.SCROLL);
     }
 
     @Test
@@ -0,0 +1,62 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.DeadlineWait;
+import com.joss.conductor.mobile.util.ExponentialPollingStrategy;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DeadlineWaitTest {
+
+    @Test
+    public void exponential_polling_backs_off_up_to_cap() {
+        ExponentialPollingStrategy strategy = new ExponentialPollingStrategy(50, 1000, 2);
+
+        Assertions.assertThat(strategy.delayAfter(1)).isEqualTo(50);
+        Assertions.assertThat(strategy.delayAfter(2)).isEqualTo(100);
+        Assertions.assertThat(strategy.delayAfter(5)).isEqualTo(800);
+        Assertions.assertThat(strategy.delayAfter(6)).isEqualTo(1000);
+        Assertions.assertThat(strategy.delayAfter(100)).isEqualTo(1000);
+    }
+
+    @Test
+    public void multiplier_of_one_polls_at_fixed_interval() {
+        ExponentialPollingStrategy strategy = new ExponentialPollingStrategy(250, 1000, 1);
+
+        Assertions.assertThat(strategy.delayAfter(1)).isEqualTo(250);
+        Assertions.assertThat(strategy.delayAfter(10)).isEqualTo(250);
+    }
+
+    @Test
+    public void stops_as_soon_as_lookup_is_done() {
+        AtomicInteger calls = new AtomicInteger();
+        int attempts = new DeadlineWait(5000, 1, attempt -> 1).until(() ->
+                calls.incrementAndGet() == 3 ? DeadlineWait.Outcome.DONE : DeadlineWait.Outcome.MISSING);
+
+        Assertions.assertThat(attempts).isEqualTo(3);
+    }
+
+    @Test
+    public void missing_lookup_is_tried_min_attempts_after_deadline() {
+        int attempts = new DeadlineWait(0, 4, attempt -> 1).until(() -> DeadlineWait.Outcome.MISSING);
+
+        Assertions.assertThat(attempts).isEqualTo(4);
+    }
+
+    @Test
+    public void partial_lookup_is_accepted_after_deadline() {
+        int attempts = new DeadlineWait(0, 4, attempt -> 1).until(() -> DeadlineWait.Outcome.PARTIAL);
+
+        Assertions.assertThat(attempts).isEqualTo(1);
+    }
+
+    @Test
+    public void waits_no_longer_than_timeout() {
+        long start = System.currentTimeMillis();
+        new DeadlineWait(300, 1, new ExponentialPollingStrategy(50, 1000, 2))
+                .until(() -> DeadlineWait.Outcome.MISSING);
+
+        Assertions.assertThat(System.currentTimeMillis() - start).isBetween(300L, 1000L);
+    }
+}
@@ -1,7 +1,10 @@
 package com.joss.conductor.mobile;
 
+import com.joss.conductor.mobile.profile.LocatorProfiler;
+import com.joss.conductor.mobile.profile.LocatorStats;
+import com.joss.conductor.mobile.session.SessionPool;
 import io.appium.java_client.AppiumDriver;
-import io.appium.java_client.TouchAction;
+import io.appium.java_client.MobileBy;
 import io.appium.java_client.remote.AndroidMobileCapabilityType;
 import io.appium.java_client.remote.MobileCapabilityType;
 import io.appium.java_client.service.local.AppiumServiceBuilder;
@@ -10,27 +13,34 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.SessionId;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static com.joss.conductor.mobile.MockTestUtil.matchesEntriesIn;
-import static io.appium.java_client.touch.WaitOptions.waitOptions;
-import static io.appium.java_client.touch.offset.PointOption.point;
 import static java.time.Duration.ofMillis;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -140,18 +150,39 @@ public class LocomotiveTest {
     public void test_wait_for_elem_found_on_first_try() {
         By id = mock(By.class);
         WebElement foundElement = mock(WebElement.class);
-        androidConfig.setTimeout(0);
+        when(foundElement.isDisplayed()).thenReturn(true);
 
         when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
-        when(mockDriver.findElement(id)).thenReturn(foundElement);
         Locomotive locomotive = new Locomotive();
         locomotive.setConfiguration(androidConfig);
         locomotive.setAppiumDriver(mockDriver);
 
         Assertions.assertThat(locomotive.waitForElement(id))
                 .isEqualTo(foundElement);
-        verify(mockDriver, times(2))
+        verify(mockDriver, times(1))
                 .findElements(id);
+        verify(mockDriver, never())
+                .findElement(id);
+    }
+
+    @Test
+    public void test_wait_for_elem_returns_first_of_many() {
+        By id = mock(By.class);
+        WebElement first = mock(WebElement.class);
+        WebElement second = mock(WebElement.class);
+        when(first.isDisplayed()).thenReturn(true);
+
+        when(mockDriver.findElements(id)).thenReturn(Arrays.asList(first, second));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.waitForElement(id))
+                .isEqualTo(first);
+        verify(mockDriver, times(1))
+                .findElements(id);
+        verify(mockDriver, never())
+                .findElement(id);
     }
 
     @Test
@@ -167,8 +198,8 @@ public class LocomotiveTest {
                 .setAppiumDriver(mockDriver);
 
         Assertions.assertThatThrownBy(() -> locomotive.waitForElement(id)).isInstanceOf(AssertionError.class);
-        // First attempt to find elements plus 5 retries + one added from the driver
-        verify(mockDriver, times(numberOfRetries + 2))
+        // First attempt to find elements plus 5 retries
+        verify(mockDriver, times(numberOfRetries + 1))
                 .findElements(id);
     }
 
@@ -184,7 +215,6 @@ public class LocomotiveTest {
         when(mockDriver.findElements(id)).thenReturn(Collections.emptyList(),
                 Collections.emptyList(),
                 Collections.singletonList(foundElement));
-        when(mockDriver.findElement(id)).thenReturn(foundElement);
         Locomotive locomotive = new Locomotive()
                 .setConfiguration(iosConfig)
                 .setAppiumDriver(mockDriver);
@@ -208,7 +238,7 @@ public class LocomotiveTest {
 
         Assertions.assertThat(locomotive.isPresentWait(id))
                 .isEqualTo(true);
-        verify(mockDriver, times(2))
+        verify(mockDriver, times(1))
                 .findElements(id);
     }
 
@@ -226,8 +256,8 @@ public class LocomotiveTest {
 
         Assertions.assertThat(locomotive.isPresentWait(id))
                 .isEqualTo(false);
-        // First attempt to find elements plus 5 retries, plus one from the driver
-        verify(mockDriver, times(numberOfRetries + 2))
+        // First attempt to find elements plus 5 retries
+        verify(mockDriver, times(numberOfRetries + 1))
                 .findElements(id);
     }
 
@@ -242,7 +272,6 @@ public class LocomotiveTest {
         when(mockDriver.findElements(id)).thenReturn(Collections.emptyList(),
                 Collections.emptyList(),
                 Collections.singletonList(foundElement));
-        when(mockDriver.findElement(id)).thenReturn(foundElement);
         Locomotive locomotive = new Locomotive()
                 .setConfiguration(iosConfig)
                 .setAppiumDriver(mockDriver);
@@ -253,11 +282,350 @@ public class LocomotiveTest {
                 .findElements(id);
     }
 
+    @Test
+    public void test_wait_for_elem_polls_until_displayed() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(false, false, true);
+
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver)
+                .setPollingStrategy(attempt -> 1);
+
+        Assertions.assertThat(locomotive.waitForElement(id))
+                .isEqualTo(foundElement);
+        verify(mockDriver, times(3))
+                .findElements(id);
+    }
+
+    @Test
+    public void test_wait_for_elem_accepts_hidden_element_after_timeout() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        androidConfig.setTimeout(0);
+
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.waitForElement(id))
+                .isEqualTo(foundElement);
+        verify(mockDriver, times(1))
+                .findElements(id);
+    }
+
+    @Test
+    public void test_optimistic_click_skips_wait() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+
+        when(mockDriver.findElement(id)).thenReturn(foundElement);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.click(id, true);
+        verify(foundElement).click();
+        verify(mockDriver, never())
+                .findElements(id);
+    }
+
+    @Test
+    public void test_optimistic_set_text_falls_back_to_wait() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(true);
+        androidConfig.setOptimisticActions(true);
+
+        when(mockDriver.findElement(id)).thenThrow(new NoSuchElementException("not yet"));
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.setText(id, "text");
+        verify(foundElement).sendKeys("text");
+        verify(mockDriver, times(1))
+                .findElements(id);
+    }
+
+    @Test
+    public void test_optimistic_get_text_retries_stale_element() {
+        By id = mock(By.class);
+        WebElement staleElement = mock(WebElement.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(staleElement.getText()).thenThrow(new StaleElementReferenceException("stale"));
+        when(foundElement.isDisplayed()).thenReturn(true);
+        when(foundElement.getText()).thenReturn("text");
+
+        when(mockDriver.findElement(id)).thenReturn(staleElement);
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.getText(id, true))
+                .isEqualTo("text");
+    }
+
+    @Test
+    public void test_click_waits_when_not_optimistic() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(true);
+
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.click(id);
+        verify(foundElement).click();
+        verify(mockDriver, never())
+                .findElement(id);
+    }
+
+    @Test
+    public void test_cached_element_is_reused() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(true);
+        when(foundElement.getText()).thenReturn("text");
+        androidConfig.setCacheElements(true);
+
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.getText(id);
+        locomotive.validateText(id, "text");
+        verify(mockDriver, times(1))
+                .findElements(id);
+        Assertions.assertThat(locomotive.getElementCache().getHits()).isEqualTo(1);
+        Assertions.assertThat(locomotive.getElementCache().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_stale_cached_element_is_looked_up_again() {
+        By id = mock(By.class);
+        WebElement staleElement = mock(WebElement.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(staleElement.isDisplayed()).thenReturn(true);
+        when(staleElement.getText()).thenReturn("text").thenThrow(new StaleElementReferenceException("stale"));
+        when(foundElement.isDisplayed()).thenReturn(true);
+        when(foundElement.getText()).thenReturn("new text");
+        androidConfig.setCacheElements(true);
+
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(staleElement),
+                Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.getText(id)).isEqualTo("text");
+        Assertions.assertThat(locomotive.getText(id)).isEqualTo("new text");
+        Assertions.assertThat(locomotive.getElementCache().getStale()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_hidden_cached_element_is_a_miss_not_stale() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(true, false, true);
+        when(foundElement.getText()).thenReturn("text");
+        androidConfig.setCacheElements(true);
+
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.getText(id);
+        locomotive.getText(id);
+        Assertions.assertThat(locomotive.getElementCache().getHits()).isEqualTo(0);
+        Assertions.assertThat(locomotive.getElementCache().getMisses()).isEqualTo(2);
+        Assertions.assertThat(locomotive.getElementCache().getStale()).isEqualTo(0);
+        Assertions.assertThat(locomotive.getElementCache().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_click_invalidates_element_cache() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(true);
+        androidConfig.setCacheElements(true);
+
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.click(id);
+        locomotive.click(id);
+        verify(mockDriver, times(2))
+                .findElements(id);
+    }
+
+    @Test
+    public void test_text_validations_share_page_source() {
+        androidConfig.setCachePageSource(true);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy text=\"Welcome\"/>");
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.validateTextPresent("Welcome")
+                .validateTextNotPresent("Goodbye");
+        verify(mockDriver, times(1))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_mutating_action_refetches_page_source() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(true);
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        androidConfig.setCachePageSource(true);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy text=\"Welcome\"/>");
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.validateTextPresent("Welcome")
+                .click(id)
+                .validateTextPresent("Welcome")
+                .setText(id, "text")
+                .validateTextPresent("Welcome");
+        verify(mockDriver, times(3))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_is_present_uses_local_snapshot() {
+        androidConfig.setLocalLocators(true);
+        androidConfig.setCachePageSource(true);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy>"
+                + "<android.widget.TextView resource-id=\"com.joss.conductor.mobile:id/title\"/>"
+                + "</hierarchy>");
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.isPresent("title")).isTrue();
+        locomotive.validateNotPresent("login");
+        verify(mockDriver, times(1))
+                .getPageSource();
+        verify(mockDriver, never())
+                .findElements(Mockito.any(By.class));
+    }
+
+    @Test
+    public void test_validate_present_trusts_its_own_wait() {
+        androidConfig.setLocalLocators(true);
+        androidConfig.setCachePageSource(true);
+        By by = By.id("com.joss.conductor.mobile:id/done");
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy/>");
+        when(mockDriver.findElements(by)).thenReturn(Collections.singletonList(element));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        // the cached source was taken before the element appeared
+        Assertions.assertThat(locomotive.isPresent(by)).isFalse();
+        locomotive.validatePresent(by);
+    }
+
+    @Test
+    public void test_wait_that_polls_refreshes_cached_page_source() {
+        androidConfig.setCachePageSource(true);
+        androidConfig.setTimeout(0);
+        By by = mock(By.class);
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy text=\"Loading\"/>", "<hierarchy text=\"Welcome\"/>");
+        when(mockDriver.findElements(by)).thenReturn(Collections.emptyList(), Collections.singletonList(element));
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.validateTextNotPresent("Welcome");
+        locomotive.waitForElement(by);
+        locomotive.validateTextPresent("Welcome");
+        verify(mockDriver, times(2))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_is_present_falls_back_to_server() {
+        By id = mock(By.class);
+        androidConfig.setLocalLocators(true);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy/>");
+        when(mockDriver.findElements(id)).thenReturn(Collections.emptyList());
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.isPresent(id)).isFalse();
+        verify(mockDriver, times(1))
+                .findElements(id);
+    }
+
+    @Test
+    public void test_bulk_queries_share_one_snapshot() {
+        By unsupported = mock(By.class);
+        WebElement serverElement = mock(WebElement.class);
+        when(serverElement.getText()).thenReturn("From server");
+        when(mockDriver.findElements(unsupported)).thenReturn(Collections.singletonList(serverElement));
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy>"
+                + "<android.widget.TextView resource-id=\"com.app:id/title\" text=\"Welcome\"/>"
+                + "<android.widget.TextView resource-id=\"com.app:id/subtitle\" text=\"Sign in\"/>"
+                + "</hierarchy>");
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.getTexts(Arrays.asList(By.id("com.app:id/title"),
+                By.id("com.app:id/subtitle"),
+                By.id("com.app:id/missing"),
+                unsupported)))
+                .containsExactly("Welcome", "Sign in", null, "From server");
+        Assertions.assertThat(locomotive.presentOf(Arrays.asList(By.id("com.app:id/missing"),
+                By.id("com.app:id/title"))))
+                .containsExactly(By.id("com.app:id/title"));
+        verify(mockDriver, times(2))
+                .getPageSource();
+        verify(mockDriver, never())
+                .findElements(By.id("com.app:id/title"));
+    }
+
+    @Test
+    public void test_profiled_wait_is_recorded() {
+        By id = By.id("com.joss.conductor.mobile:id/profiled");
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.isDisplayed()).thenReturn(true);
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        androidConfig.setProfileLocators(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.waitForElement(id);
+        Assertions.assertThat(LocatorProfiler.getInstance().getStats())
+                .extracting(LocatorStats::getLocator)
+                .contains(id.toString());
+    }
+
     @Test
     public void test_get_center_web_element() {
         WebElement element = mock(WebElement.class);
-        when(element.getLocation()).thenReturn(new Point(50, 0));
-        when(element.getSize()).thenReturn(new Dimension(10, 10));
+        when(element.getRect()).thenReturn(new Rectangle(new Point(50, 0), new Dimension(10, 10)));
 
         Point center = new Point(55, 5);
         Locomotive locomotive = new Locomotive()
@@ -287,23 +655,262 @@ public class LocomotiveTest {
                 .isEqualToComparingFieldByField(center);
     }
 
-    private Map<String, List<Object>> getTouchActionParameters(TouchAction action)
-    {
-        try {
-            Method method = TouchAction.class.getDeclaredMethod("getParameters");
-            method.setAccessible(true);
-            return (Map)method.invoke(action);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            e.printStackTrace();
-        }
-        return null;
+    @Test
+    public void test_get_center_web_element_without_get_rect() {
+        WebElement element = mock(WebElement.class);
+        when(element.getRect()).thenThrow(new UnsupportedCommandException("getElementRect"));
+        when(element.getLocation()).thenReturn(new Point(50, 0));
+        when(element.getSize()).thenReturn(new Dimension(10, 10));
+
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.getCenter(element))
+                .isEqualToComparingFieldByField(new Point(55, 5));
+        Assertions.assertThat(locomotive.getCenter(element))
+                .isEqualToComparingFieldByField(new Point(55, 5));
+        verify(element, times(1)).getRect();
+    }
+
+    @Test
+    public void test_window_size_is_fetched_once_until_rotated() {
+        androidConfig.setCacheWindowSize(true);
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 50), new Dimension(50, 100));
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+        when(mockDriver.manage()).thenReturn(options);
+
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.getCenter(/*webElement=*/null);
+        Assertions.assertThat(locomotive.getCenter(/*webElement=*/null))
+                .isEqualToComparingFieldByField(new Point(50, 25));
+        verify(window, times(1)).getSize();
+
+        locomotive.rotate(ScreenOrientation.PORTRAIT);
+        verify(mockDriver).rotate(ScreenOrientation.PORTRAIT);
+        Assertions.assertThat(locomotive.getCenter(/*webElement=*/null))
+                .isEqualToComparingFieldByField(new Point(25, 50));
+        verify(window, times(2)).getSize();
+    }
+
+    @Test
+    public void test_window_size_is_fetched_every_time_by_default() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 50), new Dimension(50, 100));
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+        when(mockDriver.manage()).thenReturn(options);
+
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.getCenter(/*webElement=*/null);
+        // rotated by the app, not through rotate()
+        Assertions.assertThat(locomotive.getCenter(/*webElement=*/null))
+                .isEqualToComparingFieldByField(new Point(25, 50));
+        verify(window, times(2)).getSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> performedActions(int times) {
+        ArgumentCaptor<Collection<Sequence>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(mockDriver, times(times)).perform(captor.capture());
+        Collection<Sequence> sequences = captor.getValue();
+        Assertions.assertThat(sequences).hasSize(1);
+        return (List<Map<String, Object>>) sequences.iterator().next().toJson().get("actions");
+    }
+
+    private void assertThatGestureMatches(int times, Point from, Point to, int durationMillis) {
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence expected = new Sequence(finger, 0)
+                .addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), from.x, from.y))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(finger.createPointerMove(ofMillis(durationMillis), PointerInput.Origin.viewport(), to.x, to.y))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+
+        Assertions.assertThat(performedActions(times))
+                .isEqualTo(expected.toJson().get("actions"));
+    }
+
+    @Test
+    public void test_swipe_profile_sets_swipe_duration_from_velocity() {
+        initMockDriverSizes();
+        androidConfig.setSwipeProfile(SwipeProfile.DRAG);
+        androidConfig.setDragVelocity(500);
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.swipeCenterLong(SwipeElementDirection.DOWN);
+        assertThatGestureMatches(1, new Point(50, 50), new Point(50, 99), 98);
+        verify(mockDriver, never()).getPageSource();
+    }
+
+    @Test
+    public void test_fling_waits_for_screen_to_settle() {
+        initMockDriverSizes();
+        androidConfig.setSwipeProfile(SwipeProfile.FLING);
+        when(mockDriver.getPageSource()).thenReturn("<moving/>", "<stopped/>", "<stopped/>");
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver)
+                .setPollingStrategy(attempt -> 0);
+
+        locomotive.swipeCenter(SwipeElementDirection.UP);
+        assertThatGestureMatches(1, new Point(50, 50), new Point(50, 25), 20);
+        verify(mockDriver, times(3)).getPageSource();
+    }
+
+    @Test
+    public void test_swipe_to_scrolls_natively_on_android() {
+        androidConfig.setNativeScroll(true);
+        WebElement element = mock(WebElement.class);
+        By by = By.id("com.app:id/done");
+        when(mockDriver.findElement(MobileBy.AndroidUIAutomator("new UiScrollable(new UiSelector().scrollable(true))"
+                + ".setMaxSearchSwipes(3).scrollIntoView(new UiSelector().resourceId(\"com.app:id/done\"))")))
+                .thenReturn(element);
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.swipeTo(by))
+                .isSameAs(element);
+        verify(mockDriver, never()).perform(Mockito.anyCollection());
+    }
+
+    @Test
+    public void test_swipe_to_scrolls_natively_on_ios() {
+        iosConfig.setNativeScroll(true);
+        WebElement element = mock(WebElement.class);
+        By by = MobileBy.AccessibilityId("done");
+        when(mockDriver.findElement(by)).thenReturn(element);
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(iosConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.swipeTo(by))
+                .isSameAs(element);
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("predicateString", "name == 'done'");
+        arguments.put("toVisible", true);
+        verify(mockDriver).executeScript("mobile: scroll", arguments);
+        verify(mockDriver, never()).perform(Mockito.anyCollection());
+    }
+
+    @Test
+    public void test_swipe_to_falls_back_to_swiping() {
+        androidConfig.setNativeScroll(true);
+        initMockDriverSizes();
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        By by = By.id("com.app:id/done");
+        when(mockDriver.findElement(Mockito.any(By.class)))
+                .thenThrow(new WebDriverException("no scrollable"))
+                .thenReturn(element);
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.swipeTo(by))
+                .isSameAs(element);
+        verify(mockDriver, times(1)).perform(Mockito.anyCollection());
+    }
+
+    @Test
+    public void test_swipe_to_stops_at_the_end_of_the_list() {
+        initMockDriverSizes();
+        androidConfig.setSnapshotSwipeTo(true);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy>"
+                + "<android.widget.TextView text=\"Last\" bounds=\"[0,80][100,90]\"/>"
+                + "</hierarchy>");
+        when(mockDriver.findElement(Mockito.any(By.class))).thenThrow(new NoSuchElementException("missing"));
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.swipeTo(SwipeElementDirection.UP, By.xpath("//*[@text='Done']"), 5))
+                .isNull();
+        verify(mockDriver, times(1)).perform(Mockito.anyCollection());
     }
 
-    private void assertThatActionMatches(TouchAction actual, TouchAction expected) {
-        Map<String, List<Object>> actualParameters = getTouchActionParameters(actual);
-        Map<String, List<Object>> expectedParameters = getTouchActionParameters(expected);
+    @Test
+    public void test_swipe_to_reads_no_page_source_by_default() {
+        initMockDriverSizes();
+        when(mockDriver.findElement(Mockito.any(By.class))).thenThrow(new NoSuchElementException("missing"));
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
 
-        assertThat(actualParameters, matchesEntriesIn(expectedParameters));
+        Assertions.assertThat(locomotive.swipeTo(SwipeElementDirection.UP, By.xpath("//*[@text='Done']"), 2))
+                .isNull();
+        verify(mockDriver, times(2)).perform(Mockito.anyCollection());
+        verify(mockDriver, never()).getPageSource();
+    }
+
+    @Test
+    public void test_swipe_to_drags_known_elements_into_view() {
+        initMockDriverSizes();
+        androidConfig.setSnapshotSwipeTo(true);
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        By by = By.xpath("//*[@text='Done']");
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy>"
+                + "<android.widget.TextView text=\"Done\" bounds=\"[0,250][100,270]\"/>"
+                + "</hierarchy>");
+        when(mockDriver.findElement(by)).thenReturn(element);
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        Assertions.assertThat(locomotive.swipeTo(SwipeElementDirection.UP, by, 5))
+                .isSameAs(element);
+        assertThatGestureMatches(1, new Point(50, 50), new Point(50, 1), 123);
+    }
+
+    @Test
+    public void test_repeated_swipes_are_sent_in_one_request() {
+        initMockDriverSizes();
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.swipeDown(3);
+        Assertions.assertThat(performedActions(1))
+                .hasSize(12);
+
+        locomotive.swipeDown(0);
+        verify(mockDriver, times(1)).perform(Mockito.anyCollection());
+    }
+
+    @Test
+    public void test_momentum_swipes_settle_one_by_one() {
+        initMockDriverSizes();
+        androidConfig.setSwipeProfile(SwipeProfile.FLING);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy/>");
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.swipeDown(3);
+        Assertions.assertThat(performedActions(3))
+                .hasSize(4);
+        verify(mockDriver, times(6)).getPageSource();
     }
 
     private void initMockDriverSizes() {
@@ -312,8 +919,7 @@ public class LocomotiveTest {
 
     private void initMockDriverSizes(WebElement mockElement) {
         if(mockElement != null) {
-            when(mockElement.getLocation()).thenReturn(new Point(0, 0));
-            when(mockElement.getSize()).thenReturn(new Dimension(10, 10));
+            when(mockElement.getRect()).thenReturn(new Rectangle(new Point(0, 0), new Dimension(10, 10)));
         }
 
         WebDriver.Window window = mock(WebDriver.Window.class);
@@ -330,7 +936,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(50, 75), new Point(0, 25) };
+        Point moveTo = new Point(50, 75);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -338,14 +944,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(SwipeElementDirection.DOWN);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
 
     }
@@ -353,8 +952,11 @@ public class LocomotiveTest {
     @Test
     public void startAppiumSessionCounter() {
         ConductorConfig customConfig = new ConductorConfig("/test_yaml/android_full.yaml");
-        // cause startAppiumSession to retry 4 times
+        // cause startAppiumSession to retry 4 times against a hub that refuses connections
         customConfig.setStartSessionRetries(4);
+        customConfig.setStartSessionBackoffMillis(0);
+        customConfig.setCircuitBreakerThreshold(0);
+        customConfig.setHub("http://127.0.0.1:1/wd/hub");
 
         // spy on the config to count invocations
         ConductorConfig spy = Mockito.spy(customConfig);
@@ -364,7 +966,7 @@ public class LocomotiveTest {
 
         // run the method under test
         try {
-            locomotive.startAppiumSession(1);
+            locomotive.startAppiumSession();
             assertThat("Expected startAppiumSession() has failed", false);
         } catch (WebDriverException e) {
             assertThat("Verify startAppiumSession() has failed", true);
@@ -372,6 +974,28 @@ public class LocomotiveTest {
 
         // expected 4 retries, verified by making sure the spy has been called 4 times.
         verify(spy, times(4)).isLocal();
+        Assertions.assertThat(locomotive.getSessionStartStats().getAttempts())
+                .isEqualTo(4);
+    }
+
+    @Test
+    public void reused_session_is_released_to_pool_on_quit() {
+        androidConfig.setReuseSession(true);
+        SessionPool pool = new SessionPool();
+        pool.release(new Locomotive().buildCapabilities(androidConfig), mockDriver);
+
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setSessionPool(pool);
+
+        locomotive.init(getClass().getDeclaredMethods()[0]);
+        Assertions.assertThat(locomotive.getAppiumDriver())
+                .isSameAs(mockDriver);
+
+        locomotive.quit();
+        verify(mockDriver, times(0)).quit();
+        Assertions.assertThat(pool.size())
+                .isEqualTo(1);
     }
 
     @Test
@@ -379,7 +1003,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(50, 99), new Point(0, 49) };
+        Point moveTo = new Point(50, 99);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -387,14 +1011,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(SwipeElementDirection.DOWN);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
     }
 
@@ -403,7 +1020,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(25, 50), new Point(-25, 0) };
+        Point moveTo = new Point(25, 50);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -411,14 +1028,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(SwipeElementDirection.LEFT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
     }
 
@@ -427,7 +1037,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(1, 50), new Point(-49, 0) };
+        Point moveTo = new Point(1, 50);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -435,14 +1045,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(SwipeElementDirection.LEFT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
     }
 
@@ -451,7 +1054,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(50, 25), new Point(0, -25) };
+        Point moveTo = new Point(50, 25);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -459,14 +1062,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(SwipeElementDirection.UP);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
     }
 
@@ -475,7 +1071,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(50, 1), new Point(0, -49) };
+        Point moveTo = new Point(50, 1);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -483,14 +1079,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(SwipeElementDirection.UP);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
     }
 
@@ -499,7 +1088,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(75, 50), new Point(25, 0) };
+        Point moveTo = new Point(75, 50);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -507,14 +1096,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(SwipeElementDirection.RIGHT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
     }
 
@@ -523,7 +1105,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(99, 50), new Point(49, 0) };
+        Point moveTo = new Point(99, 50);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -531,14 +1113,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(SwipeElementDirection.RIGHT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000);
         }
     }
 
@@ -563,7 +1138,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(90, 40), new Point(0, -50) };
+        Point moveTo = new Point(90, 40);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -571,14 +1146,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.BOTTOM_RIGHT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90 ,90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 90), moveTo, 100);
         }
     }
 
@@ -587,7 +1155,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(90, 1), new Point(0, -89) };
+        Point moveTo = new Point(90, 1);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -595,14 +1163,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.BOTTOM_RIGHT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90 ,90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 90), moveTo, 100);
         }
     }
 
@@ -611,7 +1172,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(10, 40), new Point(0, -50) };
+        Point moveTo = new Point(10, 40);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -619,14 +1180,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.BOTTOM_LEFT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 90), moveTo, 100);
         }
     }
 
@@ -635,7 +1189,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(10, 1), new Point(0, -89) };
+        Point moveTo = new Point(10, 1);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -643,14 +1197,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.BOTTOM_LEFT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 90), moveTo, 100);
         }
     }
 
@@ -659,7 +1206,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(90, 60), new Point(0, 50) };
+        Point moveTo = new Point(90, 60);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -667,14 +1214,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_RIGHT, SwipeElementDirection.DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 10), moveTo, 100);
         }
     }
 
@@ -683,7 +1223,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(90, 99), new Point(0, 89) };
+        Point moveTo = new Point(90, 99);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -691,14 +1231,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.TOP_RIGHT, SwipeElementDirection.DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 10), moveTo, 100);
         }
     }
 
@@ -707,7 +1240,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(10, 60), new Point(0, 50) };
+        Point moveTo = new Point(10, 60);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -715,14 +1248,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_LEFT, SwipeElementDirection.DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 10), moveTo, 100);
         }
     }
 
@@ -731,7 +1257,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(10, 99), new Point(0, 89) };
+        Point moveTo = new Point(10, 99);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -739,14 +1265,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.TOP_LEFT, SwipeElementDirection.DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 10), moveTo, 100);
         }
     }
 
@@ -755,7 +1274,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(60, 10), new Point(50, 0) };
+        Point moveTo = new Point(60, 10);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -763,14 +1282,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_LEFT, SwipeElementDirection.RIGHT, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 10), moveTo, 100);
         }
     }
 
@@ -779,7 +1291,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(40, 10), new Point(-50, 0) };
+        Point moveTo = new Point(40, 10);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -787,14 +1299,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_RIGHT, SwipeElementDirection.LEFT, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 10), moveTo, 100);
         }
     }
 
@@ -804,7 +1309,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(5, 30), new Point(0, 25) };
+        Point moveTo = new Point(5, 30);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -812,14 +1317,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(SwipeElementDirection.DOWN, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 
@@ -829,7 +1327,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(5, 55), new Point(0, 50) };
+        Point moveTo = new Point(5, 55);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -837,14 +1335,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(SwipeElementDirection.DOWN, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 
@@ -854,7 +1345,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(1, 5), new Point(-4, 0) };
+        Point moveTo = new Point(1, 5);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -862,14 +1353,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(SwipeElementDirection.LEFT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 
@@ -879,7 +1363,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(1, 5), new Point(-4, 0) };
+        Point moveTo = new Point(1, 5);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -887,14 +1371,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(SwipeElementDirection.LEFT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 
@@ -904,7 +1381,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(5, 1), new Point(0, -4) };
+        Point moveTo = new Point(5, 1);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -912,14 +1389,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(SwipeElementDirection.UP, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 
@@ -929,7 +1399,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(5, 1), new Point(0, -4) };
+        Point moveTo = new Point(5, 1);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -937,14 +1407,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(SwipeElementDirection.UP, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 
@@ -954,7 +1417,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(30, 5), new Point(25, 0) };
+        Point moveTo = new Point(30, 5);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -962,14 +1425,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(SwipeElementDirection.RIGHT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 
@@ -979,7 +1435,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = { new Point(55, 5), new Point(50, 0) };
+        Point moveTo = new Point(55, 5);
 
         for(int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -987,14 +1443,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(SwipeElementDirection.RIGHT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i+1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000);
         }
     }
 }
@@ -0,0 +1,91 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.PageUtil;
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PageUtilTest {
+
+    private ConductorConfig iosConfig;
+
+    @BeforeMethod
+    public void setup() {
+        iosConfig = new ConductorConfig("/test_yaml/ios_full.yaml");
+    }
+
+    @Test
+    public void android_ids_are_resource_ids() {
+        ConductorConfig androidConfig = new ConductorConfig("/test_yaml/android_full.yaml");
+
+        Assertions.assertThat(PageUtil.buildBy(androidConfig, "login"))
+                .isEqualTo(By.id("com.joss.conductor.mobile:id/login"));
+    }
+
+    @Test
+    public void ios_ids_default_to_xpath() {
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login"))
+                .isEqualTo(By.xpath("//*[@name='login']"));
+    }
+
+    @Test
+    public void ios_ids_as_accessibility_id() {
+        iosConfig.setIosLocatorStrategy(IosLocatorStrategy.ACCESSIBILITY_ID);
+
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login"))
+                .isEqualTo(MobileBy.AccessibilityId("login"));
+    }
+
+    @Test
+    public void ios_ids_as_predicate_are_escaped() {
+        iosConfig.setIosLocatorStrategy(IosLocatorStrategy.PREDICATE);
+
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "log'in"))
+                .isEqualTo(MobileBy.iOSNsPredicateString("name == 'log\\'in'"));
+    }
+
+    @Test
+    public void ios_ids_as_class_chain() {
+        iosConfig.setIosLocatorStrategy(IosLocatorStrategy.CLASS_CHAIN);
+
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login"))
+                .isEqualTo(MobileBy.iOSClassChain("**/*[`name == \"login\"`]"));
+    }
+
+    @Test
+    public void locators_are_built_once() {
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login"))
+                .isSameAs(PageUtil.buildBy(iosConfig, "login"));
+
+        iosConfig.setIosLocatorStrategy(IosLocatorStrategy.ACCESSIBILITY_ID);
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login"))
+                .isEqualTo(MobileBy.AccessibilityId("login"));
+    }
+
+    @Test
+    public void least_recently_used_locators_are_dropped() {
+        By first = PageUtil.buildBy(iosConfig, "row-0");
+        // the cache evicts per segment, so go well past the bound
+        for (int i = 1; i <= 2 * PageUtil.MAX_LOCATORS; i++) {
+            PageUtil.buildBy(iosConfig, "row-" + i);
+        }
+
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "row-0"))
+                .isEqualTo(first)
+                .isNotSameAs(first);
+    }
+
+    @Test
+    public void unknown_platform_is_rejected() {
+        ConductorConfig config = mock(ConductorConfig.class);
+        when(config.getPlatformName()).thenReturn(Platform.NONE);
+
+        Assertions.assertThatThrownBy(() -> PageUtil.buildBy(config, "login"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
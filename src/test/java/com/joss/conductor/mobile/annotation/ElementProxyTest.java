@@ -0,0 +1,93 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.Platform;
+import com.joss.conductor.mobile.exception.PlatformFindByException;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElementProxyTest {
+
+    private Function<By, WebElement> resolver;
+    private WebElement first;
+    private WebElement second;
+    private ElementStubPage page;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        resolver = mock(Function.class);
+        first = mock(WebElement.class);
+        second = mock(WebElement.class);
+        when(first.getText()).thenReturn("first");
+        when(second.getText()).thenReturn("second");
+        when(resolver.apply(any())).thenReturn(first, second);
+
+        page = new ElementStubPage();
+        PlatformFindByHelper.initIds(page, Platform.ANDROID, resolver);
+    }
+
+    @Test
+    public void elements_are_not_looked_up_until_used() {
+        Assertions.assertThat(page.Item).isEqualTo(By.id("google"));
+        Assertions.assertThat(page.Element).isNotNull();
+        Assertions.assertThat(page.CachedElement).isNotNull();
+        verify(resolver, never()).apply(any());
+    }
+
+    @Test
+    public void element_is_looked_up_on_every_use() {
+        Assertions.assertThat(page.Element.getText()).isEqualTo("first");
+        Assertions.assertThat(page.Element.getText()).isEqualTo("second");
+        verify(resolver, times(2)).apply(By.id("google"));
+    }
+
+    @Test
+    public void cached_element_is_looked_up_once() {
+        Assertions.assertThat(page.CachedElement.getText()).isEqualTo("first");
+        page.CachedElement.click();
+        Assertions.assertThat(((WrapsElement) page.CachedElement).getWrappedElement()).isSameAs(first);
+
+        verify(resolver, times(1)).apply(By.id("google"));
+        verify(first).click();
+    }
+
+    @Test
+    public void stale_cached_element_is_looked_up_again() {
+        page.CachedElement.click();
+        when(first.getText()).thenThrow(new StaleElementReferenceException("stale"));
+
+        Assertions.assertThat(page.CachedElement.getText()).isEqualTo("second");
+        Assertions.assertThat(page.CachedElement.getText()).isEqualTo("second");
+        verify(resolver, times(2)).apply(By.id("google"));
+    }
+
+    @Test
+    public void other_exceptions_are_not_retried() {
+        when(first.getText()).thenThrow(new IllegalStateException("boom"));
+
+        Assertions.assertThatThrownBy(() -> page.CachedElement.getText())
+                .isInstanceOf(IllegalStateException.class);
+        verify(resolver, times(1)).apply(By.id("google"));
+    }
+
+    @Test
+    public void element_fields_need_a_resolver() {
+        Assertions.assertThatThrownBy(() -> PlatformFindByHelper.initIds(new ElementStubPage(), Platform.IOS))
+                .isInstanceOf(PlatformFindByException.class)
+                .hasMessageContaining("need a driver");
+    }
+}
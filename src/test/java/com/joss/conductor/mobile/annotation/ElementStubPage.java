@@ -0,0 +1,20 @@
+package com.joss.conductor.mobile.annotation;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+public class ElementStubPage {
+
+    @AndroidFindBy("google")
+    @IOSFindBy("apple")
+    public By Item;
+
+    @AndroidFindBy("google")
+    @IOSFindBy("apple")
+    public WebElement Element;
+
+    @Cached
+    @AndroidFindBy("google")
+    @IOSFindBy("apple")
+    public WebElement CachedElement;
+}
@@ -0,0 +1,83 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.Platform;
+import com.joss.conductor.mobile.exception.PlatformFindByException;
+import com.joss.conductor.mobile.locator.CompositeBy;
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+public class PlatformFindByBindingTest {
+
+    @Test
+    public void pages_share_prebuilt_locators() {
+        StubPage first = new StubPage();
+        StubPage second = new StubPage();
+        PlatformFindByHelper.initIds(first, Platform.ANDROID);
+        PlatformFindByHelper.initIds(second, Platform.ANDROID);
+
+        Assertions.assertThat(first.Item).isEqualTo(By.id("google"));
+        Assertions.assertThat(second.Item).isSameAs(first.Item);
+        Assertions.assertThat(second.XpathItem).isSameAs(first.XpathItem);
+    }
+
+    @Test
+    public void each_platform_has_its_own_locators() {
+        StubPage page = new StubPage();
+        PlatformFindByHelper.initIds(page, Platform.IOS);
+
+        Assertions.assertThat(page.Item).isEqualTo(By.name("apple"));
+        Assertions.assertThat(page.XpathItem).isEqualTo(By.xpath("//*[@text='Who's there?']"));
+    }
+
+    @Test
+    public void subclass_fields_and_inherited_fields_are_bound() {
+        SubStubPage page = new SubStubPage();
+        PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+        Assertions.assertThat(page.Item).isEqualTo(By.id("google"));
+        Assertions.assertThat(page.SubItem).isEqualTo(By.id("sub"));
+    }
+
+    @Test
+    public void native_strategies_are_bound() {
+        StubPage android = new StubPage();
+        PlatformFindByHelper.initIds(android, Platform.ANDROID);
+        StubPage ios = new StubPage();
+        PlatformFindByHelper.initIds(ios, Platform.IOS);
+
+        Assertions.assertThat(android.NativeItem)
+                .isEqualTo(MobileBy.AndroidUIAutomator("new UiSelector().text(\"Knock Knock\")"));
+        Assertions.assertThat(android.AccessibilityItem).isEqualTo(MobileBy.AccessibilityId("knock"));
+        Assertions.assertThat(ios.NativeItem)
+                .isEqualTo(MobileBy.iOSClassChain("**/XCUIElementTypeButton[`name == 'knock'`]"));
+        Assertions.assertThat(((CompositeBy) ios.AccessibilityItem).getCandidates()).containsExactly(
+                MobileBy.AccessibilityId("knock"),
+                MobileBy.iOSNsPredicateString("label == 'Knock Knock'"));
+    }
+
+    @Test
+    public void fields_must_be_locators() {
+        Assertions.assertThatThrownBy(() -> PlatformFindByHelper.initIds(new InvalidStubPage(), Platform.ANDROID))
+                .isInstanceOf(PlatformFindByException.class)
+                .hasMessageContaining("must be of type By");
+    }
+
+    @Test
+    public void static_fields_are_bound() {
+        PlatformFindByHelper.initIds(new StaticStubPage(), Platform.IOS);
+
+        Assertions.assertThat(StaticStubPage.Shared).isEqualTo(By.name("shared"));
+    }
+
+    public static class SubStubPage extends StubPage {
+        @AndroidFindBy("sub")
+        public By SubItem;
+    }
+
+    public static class StaticStubPage {
+        @IOSFindBy("shared")
+        public static By Shared;
+    }
+}
@@ -0,0 +1,222 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.Platform;
+import com.joss.conductor.mobile.locator.CompositeBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PlatformFindByProcessorTest {
+
+    private Path sources;
+    private Path classes;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        sources = Files.createTempDirectory("conductor-sources");
+        classes = Files.createTempDirectory("conductor-classes");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    private boolean compile(String className, String source) throws IOException {
+        Path file = sources.resolve(className.replace('.', File.separatorChar) + ".java");
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", classes.toString(),
+                    "-s", classes.toString(),
+                    "-processor", PlatformFindByProcessor.class.getName());
+            return compiler.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjects(file.toFile())).call();
+        }
+    }
+
+    private List<String> errors() {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void binder_is_generated_and_used() throws Exception {
+        boolean compiled = compile("pages.LoginPage", "package pages;\n"
+                + "import com.joss.conductor.mobile.annotation.*;\n"
+                + "import org.openqa.selenium.By;\n"
+                + "public class LoginPage {\n"
+                + "    @AndroidFindBy(\"login\") @IOSFindBy(\"Log \\\"in\\\"\") public By login;\n"
+                + "    @AndroidFindBy(value = \"user\", xpath = \"//user\") By user;\n"
+                + "    @IOSFindBy(accessibilityId = \"pass\", iOSNsPredicate = \"name == 'pass'\") public By pass;\n"
+                + "}\n");
+
+        Assertions.assertThat(errors()).isEmpty();
+        Assertions.assertThat(compiled).isTrue();
+        Assertions.assertThat(classes.resolve("pages/LoginPage_Binder.class")).exists();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("pages.LoginPage");
+            Object android = type.getDeclaredConstructor().newInstance();
+            PlatformFindByHelper.initIds(android, Platform.ANDROID);
+            Object ios = type.getDeclaredConstructor().newInstance();
+            PlatformFindByHelper.initIds(ios, Platform.IOS);
+
+            Assertions.assertThat(type.getField("login").get(android)).isEqualTo(By.id("login"));
+            Assertions.assertThat(type.getField("login").get(ios)).isEqualTo(By.name("Log \"in\""));
+            Field user = type.getDeclaredField("user");
+            user.setAccessible(true);
+            Assertions.assertThat(user.get(android).toString())
+                    .isEqualTo("By.composite: [By.id: user, By.xpath: //user]");
+            Assertions.assertThat(user.get(ios)).isNull();
+            Assertions.assertThat(type.getField("pass").get(ios).toString())
+                    .isEqualTo("By.composite: [By.AccessibilityId: pass, By.IosNsPredicate: name == 'pass']");
+        }
+    }
+
+    @Test
+    public void generated_candidates_follow_the_reflective_order() throws Exception {
+        boolean compiled = compile("pages.AllStrategiesPage", "package pages;\n"
+                + "import com.joss.conductor.mobile.annotation.*;\n"
+                + "import org.openqa.selenium.By;\n"
+                + "public class AllStrategiesPage {\n"
+                + "    @AndroidFindBy(value = \"a\", accessibilityId = \"b\", uiAutomator = \"c\", xpath = \"d\","
+                + " className = \"e\")\n"
+                + "    @IOSFindBy(value = \"a\", accessibilityId = \"b\", iOSNsPredicate = \"c\","
+                + " iOSClassChain = \"d\", xpath = \"e\", className = \"f\")\n"
+                + "    public By all;\n"
+                + "}\n");
+
+        Assertions.assertThat(errors()).isEmpty();
+        Assertions.assertThat(compiled).isTrue();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("pages.AllStrategiesPage");
+            Field all = type.getField("all");
+            Object android = type.getDeclaredConstructor().newInstance();
+            PlatformFindByHelper.initIds(android, Platform.ANDROID);
+            Object ios = type.getDeclaredConstructor().newInstance();
+            PlatformFindByHelper.initIds(ios, Platform.IOS);
+
+            Assertions.assertThat(((CompositeBy) all.get(android)).getCandidates()).isEqualTo(
+                    FindByStrategy.locators(all.getAnnotation(AndroidFindBy.class), FindByStrategy.ANDROID));
+            Assertions.assertThat(((CompositeBy) all.get(ios)).getCandidates()).isEqualTo(
+                    FindByStrategy.locators(all.getAnnotation(IOSFindBy.class), FindByStrategy.IOS));
+        }
+    }
+
+    @Test
+    public void subclass_binder_binds_inherited_fields() throws Exception {
+        boolean compiled = compile("pages.Pages", "package pages;\n"
+                + "import com.joss.conductor.mobile.annotation.*;\n"
+                + "import org.openqa.selenium.By;\n"
+                + "public class Pages {\n"
+                + "    public static class Base { @AndroidFindBy(\"back\") public By back; }\n"
+                + "    public static class Home extends Base { @AndroidFindBy(\"menu\") public By menu; }\n"
+                + "}\n");
+
+        Assertions.assertThat(compiled).isTrue();
+        Assertions.assertThat(classes.resolve("pages/Pages$Home_Binder.class")).exists();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("pages.Pages$Home");
+            Object page = type.getDeclaredConstructor().newInstance();
+            PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+            Assertions.assertThat(type.getField("back").get(page)).isEqualTo(By.id("back"));
+            Assertions.assertThat(type.getField("menu").get(page)).isEqualTo(By.id("menu"));
+        }
+    }
+
+    @Test
+    public void element_fields_are_bound_to_proxies() throws Exception {
+        boolean compiled = compile("pages.ElementPage", "package pages;\n"
+                + "import com.joss.conductor.mobile.annotation.*;\n"
+                + "import org.openqa.selenium.WebElement;\n"
+                + "public class ElementPage {\n"
+                + "    @Cached @AndroidFindBy(\"login\") public WebElement login;\n"
+                + "}\n");
+
+        Assertions.assertThat(errors()).isEmpty();
+        Assertions.assertThat(compiled).isTrue();
+
+        WebElement element = mock(WebElement.class);
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("pages.ElementPage");
+            Object page = type.getDeclaredConstructor().newInstance();
+            PlatformFindByHelper.initIds(page, Platform.ANDROID, by -> by.equals(By.id("login")) ? element : null);
+
+            ((WebElement) type.getField("login").get(page)).click();
+            verify(element).click();
+        }
+    }
+
+    @Test
+    public void cached_locators_fail_the_build() throws Exception {
+        boolean compiled = compile("pages.CachedPage", "package pages;\n"
+                + "import com.joss.conductor.mobile.annotation.*;\n"
+                + "import org.openqa.selenium.By;\n"
+                + "public class CachedPage {\n"
+                + "    @Cached @AndroidFindBy(\"login\") public By login;\n"
+                + "}\n");
+
+        Assertions.assertThat(compiled).isFalse();
+        Assertions.assertThat(errors()).containsExactly("login must be of type WebElement to be cached");
+    }
+
+    @Test
+    public void fields_that_are_not_locators_fail_the_build() throws Exception {
+        boolean compiled = compile("pages.BrokenPage", "package pages;\n"
+                + "import com.joss.conductor.mobile.annotation.*;\n"
+                + "public class BrokenPage {\n"
+                + "    @AndroidFindBy(\"login\") public String login;\n"
+                + "}\n");
+
+        Assertions.assertThat(compiled).isFalse();
+        Assertions.assertThat(errors()).isEqualTo(Collections.singletonList("login must be of type By or WebElement!"));
+    }
+
+    @Test
+    public void private_fields_fail_the_build() throws Exception {
+        boolean compiled = compile("pages.PrivatePage", "package pages;\n"
+                + "import com.joss.conductor.mobile.annotation.*;\n"
+                + "import org.openqa.selenium.By;\n"
+                + "public class PrivatePage {\n"
+                + "    @IOSFindBy(\"login\") private By login;\n"
+                + "}\n");
+
+        Assertions.assertThat(compiled).isFalse();
+        Assertions.assertThat(errors()).containsExactly("login must not be private to be bound");
+    }
+}
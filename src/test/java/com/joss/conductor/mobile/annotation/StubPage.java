@@ -18,5 +18,16 @@ public class StubPage {
     @AndroidFindBy(xpath = "//*[@text='Knock Knock']")
     @IOSFindBy(xpath = "//*[@text='Who's there?']")
     public By XpathItem;
-}
 
+    @AndroidFindBy(value = "knock", xpath = "//*[@text='Knock Knock']")
+    @IOSFindBy("whosthere")
+    public By MultiItem;
+
+    @AndroidFindBy(uiAutomator = "new UiSelector().text(\"Knock Knock\")")
+    @IOSFindBy(iOSClassChain = "**/XCUIElementTypeButton[`name == 'knock'`]")
+    public By NativeItem;
+
+    @AndroidFindBy(accessibilityId = "knock")
+    @IOSFindBy(accessibilityId = "knock", iOSNsPredicate = "label == 'Knock Knock'")
+    public By AccessibilityItem;
+}
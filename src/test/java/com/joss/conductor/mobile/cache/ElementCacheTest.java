@@ -0,0 +1,49 @@
+package com.joss.conductor.mobile.cache;
+
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class ElementCacheTest {
+
+    @Test
+    public void counts_recorded_hits_and_misses() {
+        ElementCache cache = new ElementCache();
+        WebElement element = mock(WebElement.class);
+
+        Assertions.assertThat(cache.get(By.id("field"))).isNull();
+        cache.put(By.id("field"), element);
+        Assertions.assertThat(cache.get(By.id("field"))).isSameAs(element);
+        Assertions.assertThat(cache.getHits()).isEqualTo(0);
+
+        cache.recordHit();
+        cache.recordMiss();
+        Assertions.assertThat(cache.getHits()).isEqualTo(1);
+        Assertions.assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void stale_elements_are_evicted() {
+        ElementCache cache = new ElementCache();
+        cache.put(By.id("field"), mock(WebElement.class));
+        cache.evictStale(By.id("field"));
+        cache.evictStale(By.id("other"));
+
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+        Assertions.assertThat(cache.getStale()).isEqualTo(1);
+    }
+
+    @Test
+    public void clear_forgets_every_element() {
+        ElementCache cache = new ElementCache();
+        cache.put(By.id("field"), mock(WebElement.class));
+        cache.put(By.id("other"), mock(WebElement.class));
+        cache.clear();
+
+        Assertions.assertThat(cache.get(By.id("field"))).isNull();
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+}
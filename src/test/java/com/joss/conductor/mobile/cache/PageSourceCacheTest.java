@@ -0,0 +1,35 @@
+package com.joss.conductor.mobile.cache;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class PageSourceCacheTest {
+
+    @Test
+    public void same_generation_shares_one_fetch() {
+        PageSourceCache cache = new PageSourceCache();
+        AtomicInteger fetched = new AtomicInteger();
+        Supplier<String> fetch = () -> "<hierarchy>" + fetched.incrementAndGet() + "</hierarchy>";
+
+        Assertions.assertThat(cache.get(fetch)).isEqualTo("<hierarchy>1</hierarchy>");
+        Assertions.assertThat(cache.get(fetch)).isEqualTo("<hierarchy>1</hierarchy>");
+        Assertions.assertThat(cache.getFetches()).isEqualTo(1);
+        Assertions.assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void new_generation_fetches_again() {
+        PageSourceCache cache = new PageSourceCache();
+        AtomicInteger fetched = new AtomicInteger();
+        Supplier<String> fetch = () -> "<hierarchy>" + fetched.incrementAndGet() + "</hierarchy>";
+
+        cache.get(fetch);
+        cache.invalidate();
+
+        Assertions.assertThat(cache.get(fetch)).isEqualTo("<hierarchy>2</hierarchy>");
+        Assertions.assertThat(cache.getGeneration()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.joss.conductor.mobile.gesture;
+
+import com.joss.conductor.mobile.SwipeElementDirection;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.interactions.Interactive;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class GestureTest {
+
+    private final Gesture gesture = new Gesture(new Dimension(100, 200));
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> actions() {
+        return (List<Map<String, Object>>) gesture.toSequence().toJson().get("actions");
+    }
+
+    @Test
+    public void targets_stay_on_screen() {
+        Point center = new Point(50, 100);
+
+        Assertions.assertThat(gesture.target(center, SwipeElementDirection.UP, 0.25f)).isEqualTo(new Point(50, 50));
+        Assertions.assertThat(gesture.target(center, SwipeElementDirection.DOWN, 1.0f)).isEqualTo(new Point(50, 199));
+        Assertions.assertThat(gesture.target(center, SwipeElementDirection.LEFT, 1.0f)).isEqualTo(new Point(1, 100));
+        Assertions.assertThat(gesture.target(center, SwipeElementDirection.RIGHT, 0.25f)).isEqualTo(new Point(75, 100));
+    }
+
+    @Test
+    public void strokes_are_composed_into_one_sequence() {
+        gesture.fling(new Point(50, 100), SwipeElementDirection.UP, 0.5f)
+                .pause(Duration.ofMillis(500))
+                .tap(new Point(10, 10));
+
+        List<Map<String, Object>> actions = actions();
+        Assertions.assertThat(gesture.getStrokes()).isEqualTo(2);
+        Assertions.assertThat(actions).extracting(action -> action.get("type")).containsExactly(
+                "pointerMove", "pointerDown", "pointerMove", "pointerUp",
+                "pause",
+                "pointerMove", "pointerDown", "pointerUp");
+        Assertions.assertThat(actions.get(2))
+                .containsEntry("duration", 100L)
+                .containsEntry("x", 50)
+                .containsEntry("y", 1);
+    }
+
+    @Test
+    public void empty_gesture_is_not_sent() {
+        Interactive driver = mock(Interactive.class);
+        gesture.perform(driver);
+        verify(driver, never()).perform(anyCollection());
+    }
+
+    @Test
+    public void bounds_are_revealed_along_the_swipe_axis() {
+        Point center = new Point(50, 100);
+        Rectangle below = new Rectangle(0, 140, 20, 100);
+        Rectangle farBelow = new Rectangle(0, 300, 20, 100);
+        Rectangle left = new Rectangle(-40, 90, 20, 20);
+
+        Assertions.assertThat(gesture.isOnScreen(below)).isTrue();
+        Assertions.assertThat(gesture.isOnScreen(farBelow)).isFalse();
+        Assertions.assertThat(gesture.isOnScreen(left)).isFalse();
+        Assertions.assertThat(gesture.reveal(center, below, SwipeElementDirection.UP)).isEqualTo(new Point(50, 50));
+        Assertions.assertThat(gesture.reveal(center, farBelow, SwipeElementDirection.UP)).isEqualTo(new Point(50, 1));
+        Assertions.assertThat(gesture.reveal(center, left, SwipeElementDirection.RIGHT)).isEqualTo(new Point(99, 100));
+    }
+
+    @Test
+    public void direction_is_required() {
+        Assertions.assertThatThrownBy(() -> gesture.swipe(new Point(0, 0), SwipeElementDirection.NONE, 0.5f,
+                Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> gesture.swipe(new Point(0, 0), null, 0.5f, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
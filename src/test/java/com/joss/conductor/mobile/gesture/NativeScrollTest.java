@@ -0,0 +1,76 @@
+package com.joss.conductor.mobile.gesture;
+
+import com.joss.conductor.mobile.SwipeElementDirection;
+import com.joss.conductor.mobile.locator.CompositeBy;
+import com.joss.conductor.mobile.locator.LocatorHistory;
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+public class NativeScrollTest {
+
+    @Test
+    public void android_ids_scroll_into_view() {
+        Assertions.assertThat(NativeScroll.androidScrollIntoView(By.id("com.app:id/login"), "com.app",
+                SwipeElementDirection.UP, 3))
+                .contains(MobileBy.AndroidUIAutomator("new UiScrollable(new UiSelector().scrollable(true))"
+                        + ".setMaxSearchSwipes(3).scrollIntoView(new UiSelector().resourceId(\"com.app:id/login\"))"));
+        Assertions.assertThat(NativeScroll.uiSelector(By.id("com.app:id/login"), "com.other"))
+                .contains("new UiSelector().resourceId(\"com.app:id/login\")");
+    }
+
+    @Test
+    public void ids_without_package_belong_to_the_app() {
+        Assertions.assertThat(NativeScroll.uiSelector(By.id("user.name"), "com.app"))
+                .contains("new UiSelector().resourceId(\"com.app:id/user.name\")");
+        Assertions.assertThat(NativeScroll.uiSelector(By.id("login"), null)).isEmpty();
+    }
+
+    @Test
+    public void horizontal_directions_scroll_horizontal_lists() {
+        Assertions.assertThat(NativeScroll.androidScrollIntoView(MobileBy.AccessibilityId("Say \"hi\""), "com.app",
+                SwipeElementDirection.LEFT, 3))
+                .contains(MobileBy.AndroidUIAutomator("new UiScrollable(new UiSelector().scrollable(true))"
+                        + ".setAsHorizontalList().setMaxSearchSwipes(3).scrollIntoView(new UiSelector().description(\"Say \\\"hi\\\"\"))"));
+    }
+
+    @Test
+    public void ui_selectors_are_used_as_is() {
+        Assertions.assertThat(NativeScroll.uiSelector(MobileBy.AndroidUIAutomator("new UiSelector().text(\"Done\")"),
+                "com.app"))
+                .contains("new UiSelector().text(\"Done\")");
+    }
+
+    @Test
+    public void xpath_has_no_native_scroll() {
+        Assertions.assertThat(NativeScroll.androidScrollIntoView(By.xpath("//*[@text='Done']"), "com.app",
+                SwipeElementDirection.UP, 3)).isEmpty();
+        Assertions.assertThat(NativeScroll.iosScrollArguments(By.xpath("//*[@name='Done']"))).isEmpty();
+    }
+
+    @Test
+    public void ios_locators_scroll_to_predicate() {
+        Assertions.assertThat(NativeScroll.iosScrollArguments(MobileBy.AccessibilityId("Don't")).get())
+                .containsEntry("predicateString", "name == 'Don\\'t'")
+                .containsEntry("toVisible", true);
+        Assertions.assertThat(NativeScroll.predicate(MobileBy.iOSNsPredicateString("label == 'Done'")))
+                .contains("label == 'Done'");
+        Assertions.assertThat(NativeScroll.predicate(By.className("XCUIElementTypeCell")))
+                .contains("type == 'XCUIElementTypeCell'");
+    }
+
+    @Test
+    public void composite_uses_first_translatable_candidate() {
+        CompositeBy by = new CompositeBy("Page.done",
+                Arrays.asList(By.xpath("//*[@name='done']"), By.name("done")),
+                new LocatorHistory(new File("target/test-artifacts/native-scroll-history.properties")));
+
+        Assertions.assertThat(NativeScroll.predicate(By.xpath("//*"))).isEmpty();
+        Assertions.assertThat(NativeScroll.iosScrollArguments(by).get())
+                .containsEntry("predicateString", "name == 'done'");
+    }
+}
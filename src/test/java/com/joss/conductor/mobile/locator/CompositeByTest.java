@@ -0,0 +1,146 @@
+package com.joss.conductor.mobile.locator;
+
+import com.joss.conductor.mobile.Platform;
+import com.joss.conductor.mobile.annotation.PlatformFindByHelper;
+import com.joss.conductor.mobile.annotation.StubPage;
+import org.assertj.core.api.Assertions;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CompositeByTest {
+
+    private static final By ID = By.id("com.app:id/login");
+    private static final By XPATH = By.xpath("//*[@text='Log in']");
+
+    private File historyFile;
+    private SearchContext context;
+    private WebElement element;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        historyFile = new File(Files.createTempDirectory("history").toFile(), "locator-history.properties");
+        context = mock(SearchContext.class);
+        element = mock(WebElement.class);
+    }
+
+    @Test
+    public void falls_back_to_next_candidate() {
+        when(context.findElements(ID)).thenReturn(Collections.emptyList());
+        when(context.findElements(XPATH)).thenReturn(Collections.singletonList(element));
+        CompositeBy by = new CompositeBy("Page.login", Arrays.asList(ID, XPATH), new LocatorHistory(historyFile));
+
+        Assertions.assertThat(by.findElements(context)).containsExactly(element);
+    }
+
+    @Test
+    public void working_candidate_is_tried_first_next_time() {
+        when(context.findElements(ID)).thenReturn(Collections.emptyList());
+        when(context.findElements(XPATH)).thenReturn(Collections.singletonList(element));
+        CompositeBy by = new CompositeBy("Page.login", Arrays.asList(ID, XPATH), new LocatorHistory(historyFile));
+
+        by.findElements(context);
+        by.findElements(context);
+
+        verify(context, times(1)).findElements(ID);
+        verify(context, times(2)).findElements(XPATH);
+    }
+
+    @Test
+    public void history_is_persisted_between_runs() {
+        when(context.findElements(ID)).thenReturn(Collections.emptyList());
+        when(context.findElements(XPATH)).thenReturn(Collections.singletonList(element));
+        LocatorHistory firstRun = new LocatorHistory(historyFile);
+        new CompositeBy("Page.login", Arrays.asList(ID, XPATH), firstRun).findElements(context);
+        firstRun.save();
+
+        SearchContext nextContext = mock(SearchContext.class);
+        when(nextContext.findElements(XPATH)).thenReturn(Collections.singletonList(element));
+        new CompositeBy("Page.login", Arrays.asList(ID, XPATH), new LocatorHistory(historyFile))
+                .findElements(nextContext);
+
+        verify(nextContext, never()).findElements(ID);
+    }
+
+    @Test
+    public void faster_candidate_wins() {
+        LocatorHistory history = new LocatorHistory(historyFile);
+        history.record("Page.login", ID, true, 900);
+        history.record("Page.login", XPATH, true, 100);
+
+        Assertions.assertThat(history.order("Page.login", Arrays.asList(ID, XPATH)))
+                .containsExactly(XPATH, ID);
+    }
+
+    @Test
+    public void polls_that_find_nothing_are_not_failures() {
+        when(context.findElements(Mockito.any(By.class))).thenReturn(Collections.emptyList());
+        LocatorHistory history = new LocatorHistory(historyFile);
+        history.record("Page.login", ID, true, 50);
+        CompositeBy by = new CompositeBy("Page.login", Arrays.asList(XPATH, ID), history);
+
+        for (int i = 0; i < 5; i++) {
+            by.findElements(context);
+        }
+
+        Assertions.assertThat(history.order("Page.login", Arrays.asList(XPATH, ID)))
+                .containsExactly(ID, XPATH);
+    }
+
+    @Test
+    public void wait_that_gives_up_is_one_failure() {
+        LocatorHistory history = new LocatorHistory(historyFile);
+        for (int i = 0; i < 10; i++) {
+            history.record("Page.login", ID, true, 50);
+        }
+        history.record("Page.login", XPATH, true, 800);
+        CompositeBy by = new CompositeBy("Page.login", Arrays.asList(ID, XPATH), history);
+
+        by.recordMiss();
+
+        Assertions.assertThat(history.order("Page.login", Arrays.asList(ID, XPATH)))
+                .containsExactly(ID, XPATH);
+    }
+
+    @Test
+    public void lower_ranked_candidates_are_retried() {
+        LocatorHistory history = new LocatorHistory(historyFile);
+        history.record("Page.login", ID, false, 0);
+        history.record("Page.login", XPATH, true, 100);
+
+        for (int i = 1; i < LocatorHistory.RETRY_EVERY; i++) {
+            Assertions.assertThat(history.order("Page.login", Arrays.asList(ID, XPATH)))
+                    .containsExactly(XPATH, ID);
+        }
+        Assertions.assertThat(history.order("Page.login", Arrays.asList(ID, XPATH)))
+                .containsExactly(ID, XPATH);
+    }
+
+    @Test
+    public void several_annotated_strategies_build_composite() {
+        StubPage page = new StubPage();
+        PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+        Assertions.assertThat(page.MultiItem).isInstanceOf(CompositeBy.class);
+        Assertions.assertThat(((CompositeBy) page.MultiItem).getCandidates())
+                .containsExactly(By.id("knock"), By.xpath("//*[@text='Knock Knock']"));
+
+        PlatformFindByHelper.initIds(page, Platform.IOS);
+        Assertions.assertThat(page.MultiItem).isEqualTo(By.name("whosthere"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.joss.conductor.mobile.profile;
+
+import com.joss.conductor.mobile.Platform;
+import com.joss.conductor.mobile.snapshot.HierarchySnapshot;
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class LocatorProfilerTest {
+
+    private static final String ANDROID_SOURCE = "<hierarchy>"
+            + "<android.widget.TextView resource-id=\"com.app:id/title\" text=\"Welcome\"/>"
+            + "<android.widget.Button resource-id=\"\" content-desc=\"Log in\" text=\"Log in\"/>"
+            + "<android.widget.TextView resource-id=\"com.app:id/row\" text=\"One\"/>"
+            + "<android.widget.TextView resource-id=\"com.app:id/row\" text=\"Two\"/>"
+            + "</hierarchy>";
+
+    private LocatorProfiler profiler;
+
+    @BeforeMethod
+    public void setup() {
+        profiler = new LocatorProfiler();
+    }
+
+    @Test
+    public void locators_are_ranked_by_total_time() {
+        profiler.record(By.id("fast"), 10, 1, true);
+        profiler.record(By.xpath("//slow"), 900, 3, true);
+        profiler.record(By.id("fast"), 20, 1, false);
+
+        Assertions.assertThat(profiler.getStats()).extracting(LocatorStats::getLocator)
+                .containsExactly("By.xpath: //slow", "By.id: fast");
+        LocatorStats fast = profiler.getStats().get(1);
+        Assertions.assertThat(fast.getStrategy()).isEqualTo("id");
+        Assertions.assertThat(fast.getLookups()).isEqualTo(2);
+        Assertions.assertThat(fast.getMisses()).isEqualTo(1);
+        Assertions.assertThat(fast.getMaxMillis()).isEqualTo(20);
+    }
+
+    @Test
+    public void xpath_with_unique_id_gets_a_suggestion() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID);
+
+        Assertions.assertThat(LocatorProfiler.fasterEquivalent(By.xpath("//*[@text='Welcome']"), snapshot))
+                .isEqualTo(By.id("com.app:id/title"));
+        Assertions.assertThat(LocatorProfiler.fasterEquivalent(By.xpath("//*[@text='Log in']"), snapshot))
+                .isEqualTo(MobileBy.AccessibilityId("Log in"));
+        Assertions.assertThat(LocatorProfiler.fasterEquivalent(By.xpath("//*[@text='One']"), snapshot))
+                .isNull();
+    }
+
+    @Test
+    public void xpath_is_checked_once() {
+        Assertions.assertThat(profiler.needsSuggestion(By.xpath("//*[@text='Welcome']"))).isTrue();
+        Assertions.assertThat(profiler.needsSuggestion(By.xpath("//*[@text='Welcome']"))).isFalse();
+        Assertions.assertThat(profiler.needsSuggestion(By.id("title"))).isFalse();
+    }
+
+    @Test
+    public void report_flags_suggestions() throws IOException {
+        By xpath = By.xpath("//*[@text='Welcome']");
+        profiler.record(xpath, 1200, 2, true);
+        profiler.needsSuggestion(xpath);
+        profiler.suggest(xpath, HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID));
+
+        File report = new File(Files.createTempDirectory("profile").toFile(), "locator-profile.txt");
+        profiler.writeReport(report);
+
+        String content = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        Assertions.assertThat(content)
+                .contains("By.xpath: //*[@text='Welcome']  -> try By.id: com.app:id/title")
+                .contains("Per strategy");
+    }
+}
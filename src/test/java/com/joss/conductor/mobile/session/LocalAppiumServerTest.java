@@ -0,0 +1,94 @@
+package com.joss.conductor.mobile.session;
+
+import com.joss.conductor.mobile.ConductorConfig;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.remote.service.DriverService;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LocalAppiumServerTest {
+
+    private ConductorConfig config;
+    private DriverService mockService;
+    private AtomicInteger created;
+    private LocalAppiumServer server;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        config = new ConductorConfig("/test_yaml/android_full.yaml");
+        mockService = mock(DriverService.class);
+        when(mockService.getUrl()).thenReturn(new URL("http://127.0.0.1:4723/wd/hub"));
+        when(mockService.isRunning()).thenReturn(true);
+        created = new AtomicInteger();
+        server = new LocalAppiumServer(c -> {
+            created.incrementAndGet();
+            return mockService;
+        });
+    }
+
+    @Test
+    public void server_is_shared_between_sessions() throws Exception {
+        server.getUrl(config);
+        server.getUrl(config);
+
+        Assertions.assertThat(created.get()).isEqualTo(1);
+        verify(mockService, times(1)).start();
+    }
+
+    @Test
+    public void unhealthy_server_is_restarted() throws Exception {
+        server.getUrl(config);
+        when(mockService.isRunning()).thenReturn(false);
+        server.getUrl(config);
+
+        Assertions.assertThat(created.get()).isEqualTo(2);
+        verify(mockService, times(1)).stop();
+    }
+
+    @Test
+    public void server_per_device_uses_udid() {
+        Assertions.assertThat(LocalAppiumServer.keyOf(config)).isEqualTo("jvm");
+
+        config.setAppiumServerPerDevice(true);
+        Assertions.assertThat(LocalAppiumServer.keyOf(config)).isEqualTo("qwerty");
+    }
+
+    @Test
+    public void shutdown_stops_servers() {
+        server.getUrl(config);
+        server.shutdown();
+
+        verify(mockService).stop();
+    }
+
+    @Test
+    public void log_files_are_rotated() throws IOException {
+        File dir = Files.createTempDirectory("appium-logs").toFile();
+        File log = new File(dir, "appium.log");
+
+        for (int i = 0; i < 4; i++) {
+            LocalAppiumServer.rotate(log, 2);
+            Files.write(log.toPath(), ("run " + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        Assertions.assertThat(new String(Files.readAllBytes(log.toPath()), StandardCharsets.UTF_8))
+                .isEqualTo("run 3");
+        Assertions.assertThat(new String(Files.readAllBytes(new File(dir, "appium.log.1").toPath()), StandardCharsets.UTF_8))
+                .isEqualTo("run 2");
+        Assertions.assertThat(new String(Files.readAllBytes(new File(dir, "appium.log.2").toPath()), StandardCharsets.UTF_8))
+                .isEqualTo("run 1");
+        Assertions.assertThat(new File(dir, "appium.log.3")).doesNotExist();
+    }
+}
@@ -0,0 +1,177 @@
+package com.joss.conductor.mobile.session;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.remote.MobileCapabilityType;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SessionPoolTest {
+
+    private SessionPool pool;
+    private AppiumDriver mockDriver;
+
+    @BeforeMethod
+    public void setup() {
+        pool = new SessionPool();
+        mockDriver = mock(AppiumDriver.class);
+        when(mockDriver.getSessionId()).thenReturn(new SessionId("123456789"));
+    }
+
+    private DesiredCapabilities capabilities(String udid, String app) {
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability(MobileCapabilityType.UDID, udid);
+        capabilities.setCapability(MobileCapabilityType.APP, app);
+        return capabilities;
+    }
+
+    @Test
+    public void empty_pool_returns_null() {
+        Assertions.assertThat(pool.acquire(capabilities("qwerty", "app.apk"), "com.app"))
+                .isNull();
+    }
+
+    @Test
+    public void released_session_is_reused_and_reset() {
+        pool.release(capabilities("qwerty", "app.apk"), mockDriver);
+
+        Assertions.assertThat(pool.acquire(capabilities("qwerty", "app.apk"), "com.app"))
+                .isSameAs(mockDriver);
+        verify(mockDriver).terminateApp("com.app");
+        verify(mockDriver).activateApp("com.app");
+        verify(mockDriver, never()).quit();
+        Assertions.assertThat(pool.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void changed_capabilities_quit_idle_session_for_device() {
+        pool.release(capabilities("qwerty", "app.apk"), mockDriver);
+
+        Assertions.assertThat(pool.acquire(capabilities("qwerty", "other.apk"), "com.app"))
+                .isNull();
+        verify(mockDriver).quit();
+        Assertions.assertThat(pool.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void other_devices_keep_their_sessions() {
+        pool.release(capabilities("qwerty", "app.apk"), mockDriver);
+
+        Assertions.assertThat(pool.acquire(capabilities("azerty", "other.apk"), "com.app"))
+                .isNull();
+        verify(mockDriver, never()).quit();
+        Assertions.assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shutdown_quits_idle_sessions() {
+        pool.release(capabilities("qwerty", "app.apk"), mockDriver);
+        pool.shutdown();
+
+        verify(mockDriver).quit();
+        Assertions.assertThat(pool.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void prewarmed_session_is_claimed_without_reset() {
+        pool.prewarm(capabilities("qwerty", "app.apk"), () -> mockDriver);
+
+        Assertions.assertThat(pool.acquire(capabilities("qwerty", "app.apk"), "com.app"))
+                .isSameAs(mockDriver);
+        verify(mockDriver, never()).terminateApp("com.app");
+        Assertions.assertThat(pool.acquire(capabilities("qwerty", "app.apk"), "com.app"))
+                .isNull();
+    }
+
+    @Test
+    public void failed_prewarm_falls_back_to_new_session() {
+        pool.prewarm(capabilities("qwerty", "app.apk"), () -> {
+            throw new WebDriverException("hub is down");
+        });
+
+        Assertions.assertThat(pool.acquire(capabilities("qwerty", "app.apk"), "com.app"))
+                .isNull();
+    }
+
+    @Test
+    public void shutdown_quits_prewarmed_sessions() throws Exception {
+        pool.prewarm(capabilities("qwerty", "app.apk"), () -> mockDriver).get();
+        pool.shutdown();
+
+        verify(mockDriver).quit();
+    }
+
+    @Test
+    public void session_still_starting_is_quit_when_it_arrives() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<AppiumDriver> next = pool.prewarm(capabilities("qwerty", "app.apk"), () -> {
+            started.await();
+            return mockDriver;
+        });
+        pool.acquire(capabilities("qwerty", "other.apk"), "com.app");
+        verify(mockDriver, never()).quit();
+
+        started.countDown();
+        Assertions.assertThat(next.get()).isSameAs(mockDriver);
+        verify(mockDriver, timeout(5000)).quit();
+    }
+
+    @Test
+    public void session_not_ready_within_claim_timeout_is_quit_when_it_arrives() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<AppiumDriver> next = pool.prewarm(capabilities("qwerty", "app.apk"), () -> {
+            started.await();
+            return mockDriver;
+        });
+        Assertions.assertThat(pool.acquire(capabilities("qwerty", "app.apk"), "com.app", 50))
+                .isNull();
+
+        started.countDown();
+        Assertions.assertThat(next.get()).isSameAs(mockDriver);
+        verify(mockDriver, timeout(5000)).quit();
+    }
+
+    @Test
+    public void shutdown_waits_for_sessions_still_starting() {
+        CountDownLatch started = new CountDownLatch(1);
+        pool.prewarm(capabilities("qwerty", "app.apk"), () -> {
+            started.await();
+            return mockDriver;
+        });
+        new Thread(started::countDown).start();
+        pool.shutdown(5000);
+
+        verify(mockDriver).quit();
+    }
+
+    @Test
+    public void shutdown_interrupts_sessions_not_started_in_time() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        pool.prewarm(capabilities("qwerty", "app.apk"), () -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return mockDriver;
+        });
+        pool.shutdown(50);
+
+        Assertions.assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(mockDriver, never()).quit();
+    }
+}
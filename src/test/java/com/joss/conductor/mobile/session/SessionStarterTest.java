@@ -0,0 +1,171 @@
+package com.joss.conductor.mobile.session;
+
+import com.joss.conductor.mobile.ConductorConfig;
+import io.appium.java_client.AppiumDriver;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+
+public class SessionStarterTest {
+
+    private AtomicLong now;
+    private List<Long> sleeps;
+    private AppiumDriver mockDriver;
+
+    @BeforeMethod
+    public void setup() {
+        now = new AtomicLong();
+        sleeps = new ArrayList<>();
+        mockDriver = mock(AppiumDriver.class);
+    }
+
+    private SessionStarter starter(RetryPolicy policy, CircuitBreaker breaker) {
+        return new SessionStarter("hub", policy, breaker, millis -> {
+            sleeps.add(millis);
+            now.addAndGet(millis);
+        }, now::get);
+    }
+
+    private static RetryPolicy policy(int attempts, long budgetMillis) {
+        return new RetryPolicy(attempts, 100, 1000, 2, 0, budgetMillis, new Random(0));
+    }
+
+    @Test
+    public void backoff_grows_exponentially_up_to_cap() {
+        RetryPolicy policy = policy(10, 0);
+
+        Assertions.assertThat(policy.delayAfter(1)).isEqualTo(100);
+        Assertions.assertThat(policy.delayAfter(2)).isEqualTo(200);
+        Assertions.assertThat(policy.delayAfter(4)).isEqualTo(800);
+        Assertions.assertThat(policy.delayAfter(5)).isEqualTo(1000);
+        Assertions.assertThat(policy.delayAfter(30)).isEqualTo(1000);
+    }
+
+    @Test
+    public void jitter_stays_within_range() {
+        RetryPolicy policy = new RetryPolicy(10, 1000, 1000, 2, 20, 0, new Random(42));
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertThat(policy.delayAfter(1)).isBetween(800L, 1200L);
+        }
+    }
+
+    @Test
+    public void retries_until_session_starts() {
+        AtomicInteger calls = new AtomicInteger();
+        SessionStarter starter = starter(policy(5, 0), new CircuitBreaker(0, 0, now::get));
+
+        AppiumDriver driver = starter.start(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new WebDriverException("hub busy");
+            }
+            return mockDriver;
+        });
+
+        Assertions.assertThat(driver).isSameAs(mockDriver);
+        Assertions.assertThat(sleeps).containsExactly(100L, 200L);
+        Assertions.assertThat(starter.getStats().getAttempts()).isEqualTo(3);
+        Assertions.assertThat(starter.getStats().getElapsedMillis()).isEqualTo(300);
+        Assertions.assertThat(starter.getStats().isStarted()).isTrue();
+    }
+
+    @Test
+    public void stops_when_time_budget_is_spent() {
+        SessionStarter starter = starter(policy(10, 500), new CircuitBreaker(0, 0, now::get));
+
+        Assertions.assertThatThrownBy(() -> starter.start(() -> {
+            throw new WebDriverException("hub busy");
+        })).isInstanceOf(WebDriverException.class);
+
+        // 100 + 200 fit in the budget, waiting another 400 would not
+        Assertions.assertThat(starter.getStats().getAttempts()).isEqualTo(3);
+        Assertions.assertThat(starter.getStats().isStarted()).isFalse();
+    }
+
+    @Test
+    public void open_circuit_breaker_fails_fast() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60000, now::get);
+        AtomicInteger calls = new AtomicInteger();
+
+        Assertions.assertThatThrownBy(() -> starter(policy(10, 0), breaker).start(() -> {
+            calls.incrementAndGet();
+            throw new UnreachableBrowserException("hub down");
+        })).isInstanceOf(WebDriverException.class);
+        Assertions.assertThat(calls.get()).isEqualTo(2);
+        Assertions.assertThat(breaker.isOpen()).isTrue();
+
+        // another thread does not even try while the breaker is open
+        Assertions.assertThatThrownBy(() -> starter(policy(10, 0), breaker).start(() -> mockDriver))
+                .isInstanceOf(WebDriverException.class);
+
+        // after the cool down a trial attempt is let through
+        now.addAndGet(60000);
+        Assertions.assertThat(starter(policy(10, 0), breaker).start(() -> mockDriver)).isSameAs(mockDriver);
+        Assertions.assertThat(breaker.isOpen()).isFalse();
+    }
+
+    @Test
+    public void only_one_trial_is_let_through_after_the_cool_down() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 60000, now::get);
+        breaker.recordFailure();
+
+        now.addAndGet(60000);
+        Assertions.assertThat(breaker.allowRequest()).isTrue();
+        Assertions.assertThat(breaker.allowRequest()).isFalse();
+
+        // the trial failed, the breaker stays open for another cool down
+        breaker.recordFailure();
+        now.addAndGet(59999);
+        Assertions.assertThat(breaker.allowRequest()).isFalse();
+        now.addAndGet(1);
+        Assertions.assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    public void hub_breaker_takes_the_latest_configuration() {
+        CircuitBreaker breaker = CircuitBreaker.forHub("http://reconfigured-hub", 5, 60000);
+        Assertions.assertThat(CircuitBreaker.forHub("http://reconfigured-hub", 1, 60000)).isSameAs(breaker);
+
+        breaker.recordFailure();
+        Assertions.assertThat(breaker.isOpen()).isTrue();
+    }
+
+    @Test
+    public void rejected_sessions_do_not_open_the_breaker() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 60000, now::get);
+
+        Assertions.assertThatThrownBy(() -> starter(policy(3, 0), breaker).start(() -> {
+            throw new SessionNotCreatedException("bad capabilities");
+        })).isInstanceOf(WebDriverException.class);
+        Assertions.assertThat(breaker.isOpen()).isFalse();
+
+        Assertions.assertThat(SessionStarter.isTransportFailure(
+                new WebDriverException("Could not start local Appium server", new ConnectException()))).isTrue();
+        Assertions.assertThat(SessionStarter.isTransportFailure(new WebDriverException("element"))).isFalse();
+    }
+
+    @Test
+    public void local_servers_per_device_have_their_own_breaker() {
+        ConductorConfig first = new ConductorConfig();
+        first.setAppiumServerPerDevice(true);
+        first.setUdid("first");
+        ConductorConfig second = new ConductorConfig();
+        second.setAppiumServerPerDevice(true);
+        second.setUdid("second");
+
+        Assertions.assertThat(SessionStarter.hubOf(first)).isEqualTo("local:first");
+        Assertions.assertThat(SessionStarter.hubOf(second)).isEqualTo("local:second");
+    }
+}
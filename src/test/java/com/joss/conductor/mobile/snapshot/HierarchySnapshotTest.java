@@ -0,0 +1,127 @@
+package com.joss.conductor.mobile.snapshot;
+
+import com.joss.conductor.mobile.Platform;
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.testng.annotations.Test;
+
+import java.util.OptionalInt;
+
+public class HierarchySnapshotTest {
+
+    private static final String ANDROID_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout class=\"android.widget.FrameLayout\">"
+            + "<android.widget.TextView resource-id=\"com.app:id/title\" text=\"Welcome\" bounds=\"[0,10][100,60]\"/>"
+            + "<android.widget.TextView resource-id=\"com.app:id/subtitle\" text=\"Sign in\"/>"
+            + "<android.widget.Button resource-id=\"com.app:id/login\" text=\"Log in\"/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    private static final String IOS_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<AppiumAUT>"
+            + "<XCUIElementTypeApplication type=\"XCUIElementTypeApplication\" name=\"App\">"
+            + "<XCUIElementTypeButton type=\"XCUIElementTypeButton\" name=\"login\" label=\"Log in\""
+            + " x=\"20\" y=\"300\" width=\"335\" height=\"44\"/>"
+            + "</XCUIElementTypeApplication>"
+            + "</AppiumAUT>";
+
+    @Test
+    public void android_ids_match_resource_ids() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID);
+
+        Assertions.assertThat(snapshot.count(By.id("com.app:id/title"))).isEqualTo(OptionalInt.of(1));
+        Assertions.assertThat(snapshot.count(By.id("login"))).isEqualTo(OptionalInt.of(1));
+        Assertions.assertThat(snapshot.count(By.id("com.app:id/missing"))).isEqualTo(OptionalInt.of(0));
+    }
+
+    @Test
+    public void class_names_and_xpath_are_evaluated_locally() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID);
+
+        Assertions.assertThat(snapshot.count(By.className("android.widget.TextView"))).isEqualTo(OptionalInt.of(2));
+        Assertions.assertThat(snapshot.count(By.xpath("//*[@text='Log in']"))).isEqualTo(OptionalInt.of(1));
+        Assertions.assertThat(snapshot.count(By.xpath("//android.widget.TextView[@text='Nope']")))
+                .isEqualTo(OptionalInt.of(0));
+    }
+
+    @Test
+    public void ios_ids_and_names_match_name_attribute() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(IOS_SOURCE, Platform.IOS);
+
+        Assertions.assertThat(snapshot.count(By.id("login"))).isEqualTo(OptionalInt.of(1));
+        Assertions.assertThat(snapshot.count(By.name("login"))).isEqualTo(OptionalInt.of(1));
+        Assertions.assertThat(snapshot.count(MobileBy.AccessibilityId("login"))).isEqualTo(OptionalInt.of(1));
+        Assertions.assertThat(snapshot.count(By.xpath("//*[@name='login']"))).isEqualTo(OptionalInt.of(1));
+    }
+
+    @Test
+    public void unsupported_locators_go_to_the_server() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID);
+
+        Assertions.assertThat(snapshot.count(MobileBy.AndroidUIAutomator("new UiSelector()")).isPresent()).isFalse();
+        Assertions.assertThat(snapshot.count(By.name("login")).isPresent()).isFalse();
+        Assertions.assertThat(snapshot.count(By.xpath("//*[")).isPresent()).isFalse();
+    }
+
+    @Test
+    public void unparseable_source_has_no_snapshot() {
+        Assertions.assertThat(HierarchySnapshot.parse("<hierarchy", Platform.ANDROID)).isNull();
+    }
+
+    @Test
+    public void nodes_carry_text_and_bounds() {
+        SnapshotNode title = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID)
+                .find(By.id("title")).get().get(0);
+        Assertions.assertThat(title.getText()).isEqualTo("Welcome");
+        Assertions.assertThat(title.getBounds()).isEqualTo(new Rectangle(0, 10, 50, 100));
+
+        SnapshotNode login = HierarchySnapshot.parse(IOS_SOURCE, Platform.IOS)
+                .find(By.xpath("//XCUIElementTypeButton")).get().get(0);
+        Assertions.assertThat(login.getText()).isEqualTo("Log in");
+        Assertions.assertThat(login.getBounds()).isEqualTo(new Rectangle(20, 300, 44, 335));
+    }
+
+    @Test
+    public void android_ids_without_package_match_the_app_package() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse("<hierarchy>"
+                + "<android.widget.TextView package=\"com.app\" resource-id=\"android:id/title\"/>"
+                + "<android.widget.TextView package=\"com.app\" resource-id=\"com.app:id/title\"/>"
+                + "</hierarchy>", Platform.ANDROID);
+
+        Assertions.assertThat(snapshot.find(By.id("title")).get()).extracting(SnapshotNode::getResourceId)
+                .containsExactly("com.app:id/title");
+        Assertions.assertThat(snapshot.count(By.id("android:id/title"))).isEqualTo(OptionalInt.of(1));
+    }
+
+    @Test
+    public void ios_text_prefers_value_over_label() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse("<AppiumAUT>"
+                + "<XCUIElementTypeTextField name=\"email\" label=\"Email\" value=\"me@example.com\"/>"
+                + "</AppiumAUT>", Platform.IOS);
+
+        Assertions.assertThat(snapshot.find(By.name("email")).get().get(0).getText()).isEqualTo("me@example.com");
+    }
+
+    @Test
+    public void elements_are_indexed_by_text() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID);
+
+        Assertions.assertThat(snapshot.withText("Log in")).extracting(SnapshotNode::getResourceId)
+                .containsExactly("com.app:id/login");
+        Assertions.assertThat(snapshot.withText("Nope")).isEmpty();
+    }
+
+    @Test
+    public void fingerprint_changes_with_the_screen() {
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID);
+        HierarchySnapshot same = HierarchySnapshot.parse(ANDROID_SOURCE, Platform.ANDROID);
+        HierarchySnapshot scrolled = HierarchySnapshot.parse(ANDROID_SOURCE.replace("[0,10][100,60]",
+                "[0,-40][100,10]"), Platform.ANDROID);
+
+        Assertions.assertThat(snapshot.fingerprint()).isEqualTo(same.fingerprint());
+        Assertions.assertThat(snapshot.fingerprint()).isNotEqualTo(scrolled.fingerprint());
+    }
+}
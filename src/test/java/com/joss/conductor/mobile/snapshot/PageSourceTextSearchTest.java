@@ -0,0 +1,44 @@
+package com.joss.conductor.mobile.snapshot;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+public class PageSourceTextSearchTest {
+
+    private static final String ANDROID_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout class=\"android.widget.FrameLayout\" text=\"\">"
+            + "<android.widget.TextView resource-id=\"com.app:id/title\" text=\"Welcome back\"/>"
+            + "<android.widget.ImageButton resource-id=\"com.app:id/menu\" content-desc=\"Open menu\"/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    private static final String IOS_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<AppiumAUT>"
+            + "<XCUIElementTypeApplication type=\"XCUIElementTypeApplication\" name=\"App\" label=\"App\">"
+            + "<XCUIElementTypeTextField type=\"XCUIElementTypeTextField\" name=\"email\" value=\"me@example.com\"/>"
+            + "</XCUIElementTypeApplication>"
+            + "</AppiumAUT>";
+
+    @Test
+    public void finds_text_in_visible_attributes() {
+        Assertions.assertThat(PageSourceTextSearch.containsText(ANDROID_SOURCE, "Welcome")).isTrue();
+        Assertions.assertThat(PageSourceTextSearch.containsText(ANDROID_SOURCE, "Open menu")).isTrue();
+        Assertions.assertThat(PageSourceTextSearch.containsText(IOS_SOURCE, "me@example.com")).isTrue();
+        Assertions.assertThat(PageSourceTextSearch.containsText(IOS_SOURCE, "App")).isTrue();
+    }
+
+    @Test
+    public void ignores_markup_and_other_attributes() {
+        Assertions.assertThat(PageSourceTextSearch.containsText(ANDROID_SOURCE, "FrameLayout")).isFalse();
+        Assertions.assertThat(PageSourceTextSearch.containsText(ANDROID_SOURCE, "resource-id")).isFalse();
+        Assertions.assertThat(PageSourceTextSearch.containsText(ANDROID_SOURCE, "com.app:id/title")).isFalse();
+        Assertions.assertThat(PageSourceTextSearch.containsText(IOS_SOURCE, "email")).isFalse();
+    }
+
+    @Test
+    public void unparseable_source_falls_back_to_raw_search() {
+        Assertions.assertThat(PageSourceTextSearch.containsText("<hierarchy text=\"Welcome\"", "Welcome")).isTrue();
+        Assertions.assertThat(PageSourceTextSearch.containsText("not xml at all", "Welcome")).isFalse();
+    }
+}